@@ -29,6 +29,11 @@ public enum Alliance {
             return DOWN_DIRECTION;
         }
 
+        @Override
+        public Alliance getOpponent() {
+            return BLACK;
+        }
+
         @Override
         public boolean isPawnPromotionSquare(final int position) {
             return BoardUtils.INSTANCE.FIRST_ROW.get(position);
@@ -98,6 +103,11 @@ public enum Alliance {
             return UP_DIRECTION;
         }
 
+        @Override
+        public Alliance getOpponent() {
+            return WHITE;
+        }
+
         @Override
         public boolean isPawnPromotionSquare(final int position) {
             return BoardUtils.INSTANCE.EIGHTH_ROW.get(position);
@@ -149,6 +159,8 @@ public enum Alliance {
 
     public abstract int getOppositeDirection();
 
+    public abstract Alliance getOpponent();
+
     public abstract int pawnBonus(int position);
 
     public abstract int knightBonus(int position);
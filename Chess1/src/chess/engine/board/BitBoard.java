@@ -0,0 +1,196 @@
+package chess.engine.board;
+
+import java.util.Arrays;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Piece.PieceType;
+
+public final class BitBoard {
+
+    public static final int EMPTY = -1;
+    public static final int NO_SQUARE = -1;
+    public static final int NUM_PIECE_CODES = 12;
+
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+    private static final int[] CASTLE_RIGHTS_MASKS = initCastleRightsMasks();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Alliance[] ALLIANCES = Alliance.values();
+
+    final long[] pieceBitBoards;
+    final long[] allianceBitBoards;
+    final int[] pieceCodes;
+    Alliance sideToMove;
+    int castleRights;
+    int enPassantSquare;
+
+    BitBoard() {
+        this.pieceBitBoards = new long[NUM_PIECE_CODES];
+        this.allianceBitBoards = new long[ALLIANCES.length];
+        this.pieceCodes = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(this.pieceCodes, EMPTY);
+        this.sideToMove = Alliance.WHITE;
+        this.castleRights = 0;
+        this.enPassantSquare = NO_SQUARE;
+    }
+
+    BitBoard(final BitBoard other) {
+        this.pieceBitBoards = other.pieceBitBoards.clone();
+        this.allianceBitBoards = other.allianceBitBoards.clone();
+        this.pieceCodes = other.pieceCodes.clone();
+        this.sideToMove = other.sideToMove;
+        this.castleRights = other.castleRights;
+        this.enPassantSquare = other.enPassantSquare;
+    }
+
+    public static int pieceCode(final PieceType pieceType,
+                                final Alliance alliance) {
+        return alliance.ordinal() * PIECE_TYPES.length + pieceType.ordinal();
+    }
+
+    public static int pieceCode(final Piece piece) {
+        return pieceCode(piece.getPieceType(), piece.getPieceAllegiance());
+    }
+
+    public static PieceType pieceTypeOf(final int pieceCode) {
+        return PIECE_TYPES[pieceCode % PIECE_TYPES.length];
+    }
+
+    public static Alliance allianceOf(final int pieceCode) {
+        return ALLIANCES[pieceCode / PIECE_TYPES.length];
+    }
+
+    public static int updateCastleRights(final int castleRights,
+                                         final int currentCoordinate,
+                                         final int destinationCoordinate) {
+        return castleRights & CASTLE_RIGHTS_MASKS[currentCoordinate] & CASTLE_RIGHTS_MASKS[destinationCoordinate];
+    }
+
+    public long getPieces(final PieceType pieceType,
+                          final Alliance alliance) {
+        return this.pieceBitBoards[pieceCode(pieceType, alliance)];
+    }
+
+    public long getOccupancy(final Alliance alliance) {
+        return this.allianceBitBoards[alliance.ordinal()];
+    }
+
+    public long getOccupied() {
+        return this.allianceBitBoards[0] | this.allianceBitBoards[1];
+    }
+
+    public boolean isOccupied(final int square) {
+        return this.pieceCodes[square] != EMPTY;
+    }
+
+    public int getPieceCode(final int square) {
+        return this.pieceCodes[square];
+    }
+
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    public int getCastleRights() {
+        return this.castleRights;
+    }
+
+    public int getEnPassantSquare() {
+        return this.enPassantSquare;
+    }
+
+    public int getKingSquare(final Alliance alliance) {
+        return Long.numberOfTrailingZeros(getPieces(PieceType.KING, alliance));
+    }
+
+    public boolean isSquareAttacked(final int square,
+                                    final Alliance attackingAlliance) {
+        return attackersOf(square, attackingAlliance, getOccupied()) != 0;
+    }
+
+    public long attackersOf(final int square,
+                            final Alliance attackingAlliance) {
+        return attackersOf(square, attackingAlliance, getOccupied());
+    }
+
+    public long attackersOf(final int square) {
+        final long occupied = getOccupied();
+        return attackersOf(square, Alliance.WHITE, occupied) | attackersOf(square, Alliance.BLACK, occupied);
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        return isSquareAttacked(getKingSquare(alliance), alliance.getOpponent());
+    }
+
+    //works outward from the square with each piece type's attack pattern
+    long attackersOf(final int square,
+                     final Alliance attackingAlliance,
+                     final long occupied) {
+        final long queens = getPieces(PieceType.QUEEN, attackingAlliance);
+        return (BitBoardUtils.PAWN_ATTACKS[attackingAlliance.getOpponent().ordinal()][square] &
+                getPieces(PieceType.PAWN, attackingAlliance)) |
+               (BitBoardUtils.KNIGHT_ATTACKS[square] & getPieces(PieceType.KNIGHT, attackingAlliance)) |
+               (BitBoardUtils.KING_ATTACKS[square] & getPieces(PieceType.KING, attackingAlliance)) |
+               (MagicBitBoards.bishopAttacks(square, occupied) & (getPieces(PieceType.BISHOP, attackingAlliance) | queens)) |
+               (MagicBitBoards.rookAttacks(square, occupied) & (getPieces(PieceType.ROOK, attackingAlliance) | queens));
+    }
+
+    void setPiece(final Piece piece) {
+        addPiece(pieceCode(piece), piece.getPiecePosition());
+    }
+
+    void addPiece(final int pieceCode,
+                  final int square) {
+        final long bit = BitBoardUtils.squareBit(square);
+        this.pieceBitBoards[pieceCode] |= bit;
+        this.allianceBitBoards[pieceCode / PIECE_TYPES.length] |= bit;
+        this.pieceCodes[square] = pieceCode;
+    }
+
+    int removePiece(final int square) {
+        final int pieceCode = this.pieceCodes[square];
+        if (pieceCode != EMPTY) {
+            final long bit = BitBoardUtils.squareBit(square);
+            this.pieceBitBoards[pieceCode] &= ~bit;
+            this.allianceBitBoards[pieceCode / PIECE_TYPES.length] &= ~bit;
+            this.pieceCodes[square] = EMPTY;
+        }
+        return pieceCode;
+    }
+
+    private static int[] initCastleRightsMasks() {
+        final int[] masks = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(masks, WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE |
+                           BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        masks[60] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        masks[63] &= ~WHITE_KING_SIDE_CASTLE;
+        masks[56] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        masks[4] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        masks[7] &= ~BLACK_KING_SIDE_CASTLE;
+        masks[0] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return masks;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            final int pieceCode = this.pieceCodes[square];
+            String tileText = "-";
+            if (pieceCode != EMPTY) {
+                tileText = allianceOf(pieceCode).isBlack() ?
+                           pieceTypeOf(pieceCode).toString().toLowerCase() : pieceTypeOf(pieceCode).toString();
+            }
+            builder.append(String.format("%3s", tileText));
+            if ((square + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                builder.append("\n");
+            }
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,118 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+
+public enum BitBoardUtils {
+
+    INSTANCE;
+
+    public static final long[] COLUMN_MASKS = initColumnMasks();
+    public static final long[] ROW_MASKS = initRowMasks();
+    public static final long[] KNIGHT_ATTACKS = initLeaperAttacks(new int[][] {
+            {-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    public static final long[] KING_ATTACKS = initLeaperAttacks(new int[][] {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    public static final long[][] PAWN_ATTACKS = {
+            initPawnAttacks(Alliance.WHITE),
+            initPawnAttacks(Alliance.BLACK)
+    };
+    //squares strictly between two tiles sharing a row, column or diagonal
+    public static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    //the whole row, column or diagonal through two tiles
+    public static final long[][] LINES = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    static {
+        initLineMasks(new int[][] {
+                {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    }
+
+    public static long squareBit(final int square) {
+        return 1L << square;
+    }
+
+    public static int rowOf(final int square) {
+        return square >>> 3;
+    }
+
+    public static int columnOf(final int square) {
+        return square & 7;
+    }
+
+    private static long[] initColumnMasks() {
+        final long[] columns = new long[BoardUtils.NUM_TILES_PER_ROW];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            columns[columnOf(square)] |= squareBit(square);
+        }
+        return columns;
+    }
+
+    private static long[] initRowMasks() {
+        final long[] rows = new long[BoardUtils.NUM_TILES_PER_ROW];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            rows[rowOf(square)] |= squareBit(square);
+        }
+        return rows;
+    }
+
+    private static long[] initLeaperAttacks(final int[][] offsets) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            for (final int[] offset : offsets) {
+                attacks[square] |= bitIfOnBoard(rowOf(square) + offset[0], columnOf(square) + offset[1]);
+            }
+        }
+        return attacks;
+    }
+
+    private static long[] initPawnAttacks(final Alliance alliance) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            final int row = rowOf(square) + alliance.getDirection();
+            attacks[square] = bitIfOnBoard(row, columnOf(square) - 1) | bitIfOnBoard(row, columnOf(square) + 1);
+        }
+        return attacks;
+    }
+
+    private static void initLineMasks(final int[][] directions) {
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            for (final int[] direction : directions) {
+                final long line = ray(square, direction[0], direction[1]) |
+                                  ray(square, -direction[0], -direction[1]) | squareBit(square);
+                long between = 0L;
+                int row = rowOf(square) + direction[0];
+                int column = columnOf(square) + direction[1];
+                while (bitIfOnBoard(row, column) != 0) {
+                    final int target = row * BoardUtils.NUM_TILES_PER_ROW + column;
+                    BETWEEN[square][target] = between;
+                    LINES[square][target] = line;
+                    between |= squareBit(target);
+                    row += direction[0];
+                    column += direction[1];
+                }
+            }
+        }
+    }
+
+    private static long ray(final int square,
+                            final int rowStep,
+                            final int columnStep) {
+        long ray = 0L;
+        int row = rowOf(square) + rowStep;
+        int column = columnOf(square) + columnStep;
+        while (bitIfOnBoard(row, column) != 0) {
+            ray |= bitIfOnBoard(row, column);
+            row += rowStep;
+            column += columnStep;
+        }
+        return ray;
+    }
+
+    private static long bitIfOnBoard(final int row,
+                                     final int column) {
+        if (row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW || column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW) {
+            return 0L;
+        }
+        return squareBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+    }
+
+}
@@ -1,9 +1,12 @@
 package chess.engine.board;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -22,35 +25,65 @@ import chess.engine.player.WhitePlayer;
 
 public final class Board {
 
-    private final Map<Integer, Piece> boardConfig;
+    private final Piece[] boardConfig;
+    private final BitBoard bitBoard;
     private final Collection<Piece> whitePieces;
     private final Collection<Piece> blackPieces;
-    private final WhitePlayer whitePlayer;
-    private final BlackPlayer blackPlayer;
-    private final Player currentPlayer;
+    private final Alliance nextMoveMaker;
     private final Pawn enPassantPawn;
     private final Move transitionMove;
+    private final long zobristKey;
+
+    //filled on first access; a racing thread at worst repeats the same work and publishes an equal value
+    private volatile Collection<Move> whiteLegalMoves;
+    private volatile Collection<Move> blackLegalMoves;
+    private volatile WhitePlayer whitePlayer;
+    private volatile BlackPlayer blackPlayer;
+    private volatile MoveIndex whiteMoveIndex;
+    private volatile MoveIndex blackMoveIndex;
+    private volatile Boolean whiteInCheck;
+    private volatile Boolean blackInCheck;
+    private volatile GameStatus gameStatus;
 
     private static final Board STANDARD_BOARD = createStandardBoardImpl();
 
     private Board(final Builder builder) {
-        this.boardConfig = Collections.unmodifiableMap(builder.boardConfig);
-        this.whitePieces = calculateActivePieces(builder, Alliance.WHITE);
-        this.blackPieces = calculateActivePieces(builder, Alliance.BLACK);
+        //the board takes over the builder's storage instead of copying it; build() then lets go of it
+        this.boardConfig = builder.boardConfig;
         this.enPassantPawn = builder.enPassantPawn;
-        final Collection<Move> whiteStandardMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardMoves = calculateLegalMoves(this.blackPieces);
-        this.whitePlayer = new WhitePlayer(this, whiteStandardMoves, blackStandardMoves);
-        this.blackPlayer = new BlackPlayer(this, whiteStandardMoves, blackStandardMoves);
-        this.currentPlayer = builder.nextMoveMaker.choosePlayerByAlliance(this.whitePlayer, this.blackPlayer);
+        this.bitBoard = createBitBoard(builder);
+        this.whitePieces = Collections.unmodifiableList(builder.whitePieces);
+        this.blackPieces = Collections.unmodifiableList(builder.blackPieces);
+        this.nextMoveMaker = builder.nextMoveMaker;
         this.transitionMove = builder.transitionMove != null ? builder.transitionMove : MoveFactory.getNullMove();
+        this.zobristKey = builder.hasZobristKey ? builder.zobristKey : Zobrist.calculateZobristKey(this.bitBoard);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Board)) {
+            return false;
+        }
+        final Board otherBoard = (Board) other;
+        return this.zobristKey == otherBoard.zobristKey &&
+               this.bitBoard.getSideToMove() == otherBoard.bitBoard.getSideToMove() &&
+               this.bitBoard.getCastleRights() == otherBoard.bitBoard.getCastleRights() &&
+               Arrays.equals(this.bitBoard.pieceCodes, otherBoard.bitBoard.pieceCodes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(this.zobristKey);
     }
 
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            final String tileText = prettyPrint(this.boardConfig.get(i));
+            final String tileText = prettyPrint(this.boardConfig[i]);
             builder.append(String.format("%3s", tileText));
             if ((i + 1) % 8 == 0) {
                 builder.append("\n");
@@ -81,24 +114,169 @@ public final class Board {
     }
 
     public Collection<Move> getAllLegalMoves() {
-        return Stream.concat(this.whitePlayer.getLegalMoves().stream(),
-                             this.blackPlayer.getLegalMoves().stream()).collect(Collectors.toList());
+        return Stream.concat(getLegalMoves(Alliance.WHITE).stream(),
+                             getLegalMoves(Alliance.BLACK).stream()).collect(Collectors.toList());
+    }
+
+    public Collection<Move> getLegalMoves(final Alliance alliance) {
+        if (alliance.isWhite()) {
+            Collection<Move> legalMoves = this.whiteLegalMoves;
+            if (legalMoves == null) {
+                legalMoves = calculateLegalMoves(Alliance.WHITE);
+                this.whiteLegalMoves = legalMoves;
+            }
+            return legalMoves;
+        }
+        Collection<Move> legalMoves = this.blackLegalMoves;
+        if (legalMoves == null) {
+            legalMoves = calculateLegalMoves(Alliance.BLACK);
+            this.blackLegalMoves = legalMoves;
+        }
+        return legalMoves;
+    }
+
+    //hash move, then captures by mvvlva, then killers, then quiet moves; each stage is generated on demand
+    public Iterator<Move> stagedMoves(final Alliance alliance,
+                                      final Move hashMove,
+                                      final Move... killers) {
+        final int[] encodedKillers = new int[killers.length];
+        for (int i = 0; i < killers.length; i++) {
+            encodedKillers[i] = killers[i].getEncodedMove();
+        }
+        final MovePicker movePicker = new MovePicker(this.bitBoard, alliance,
+                hashMove != null ? hashMove.getEncodedMove() : MoveEncoding.NULL_MOVE, encodedKillers);
+        return new Iterator<Move>() {
+            private int nextMove = movePicker.nextMove();
+
+            @Override
+            public boolean hasNext() {
+                return this.nextMove != MoveEncoding.NULL_MOVE;
+            }
+
+            @Override
+            public Move next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Move move = MoveFactory.createMove(Board.this, this.nextMove);
+                this.nextMove = movePicker.nextMove();
+                return move;
+            }
+        };
+    }
+
+    public Move getLegalMove(final int currentCoordinate,
+                             final int destinationCoordinate) {
+        final Piece movedPiece = this.boardConfig[currentCoordinate];
+        if (movedPiece == null) {
+            return null;
+        }
+        return getMoveIndex(movedPiece.getPieceAllegiance()).get(currentCoordinate, destinationCoordinate);
+    }
+
+    public boolean isLegalMove(final Move move,
+                               final Alliance alliance) {
+        return getMoveIndex(alliance).contains(move);
+    }
+
+    private MoveIndex getMoveIndex(final Alliance alliance) {
+        MoveIndex moveIndex = alliance.isWhite() ? this.whiteMoveIndex : this.blackMoveIndex;
+        if (moveIndex == null) {
+            moveIndex = new MoveIndex(getLegalMoves(alliance));
+            if (alliance.isWhite()) {
+                this.whiteMoveIndex = moveIndex;
+            } else {
+                this.blackMoveIndex = moveIndex;
+            }
+        }
+        return moveIndex;
+    }
+
+    public int countLegalMoves(final Alliance alliance) {
+        final Collection<Move> legalMoves = alliance.isWhite() ? this.whiteLegalMoves : this.blackLegalMoves;
+        if (legalMoves != null) {
+            return legalMoves.size();
+        }
+        return MoveGenerator.countLegalMoves(this.bitBoard, alliance, ~0L);
+    }
+
+    public int countLegalMoves(final Piece piece) {
+        if (this.boardConfig[piece.getPiecePosition()] != piece) {
+            return 0;
+        }
+        return MoveGenerator.countLegalMoves(this.bitBoard, piece.getPieceAllegiance(),
+                BitBoardUtils.squareBit(piece.getPiecePosition()));
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        Boolean isInCheck = alliance.isWhite() ? this.whiteInCheck : this.blackInCheck;
+        if (isInCheck == null) {
+            isInCheck = this.bitBoard.isInCheck(alliance);
+            if (alliance.isWhite()) {
+                this.whiteInCheck = isInCheck;
+            } else {
+                this.blackInCheck = isInCheck;
+            }
+        }
+        return isInCheck;
+    }
+
+    public GameStatus getGameStatus() {
+        GameStatus status = this.gameStatus;
+        if (status == null) {
+            status = GameStatus.calculateGameStatus(this);
+            this.gameStatus = status;
+        }
+        return status;
     }
 
     public WhitePlayer whitePlayer() {
-        return this.whitePlayer;
+        WhitePlayer player = this.whitePlayer;
+        if (player == null) {
+            player = new WhitePlayer(this);
+            this.whitePlayer = player;
+        }
+        return player;
     }
 
     public BlackPlayer blackPlayer() {
-        return this.blackPlayer;
+        BlackPlayer player = this.blackPlayer;
+        if (player == null) {
+            player = new BlackPlayer(this);
+            this.blackPlayer = player;
+        }
+        return player;
     }
 
     public Player currentPlayer() {
-        return this.currentPlayer;
+        return this.nextMoveMaker.isWhite() ? whitePlayer() : blackPlayer();
+    }
+
+    public Alliance getSideToMove() {
+        return this.nextMoveMaker;
+    }
+
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
     }
 
     public Piece getPiece(final int coordinate) {
-        return this.boardConfig.get(coordinate);
+        return this.boardConfig[coordinate];
+    }
+
+    public boolean isSquareAttacked(final int coordinate,
+                                    final Alliance attackingAlliance) {
+        return this.bitBoard.isSquareAttacked(coordinate, attackingAlliance);
+    }
+
+    public Collection<Piece> attackersOf(final int coordinate) {
+        final List<Piece> attackers = new ArrayList<>();
+        long attackerBitBoard = this.bitBoard.attackersOf(coordinate);
+        while (attackerBitBoard != 0) {
+            attackers.add(this.boardConfig[Long.numberOfTrailingZeros(attackerBitBoard)]);
+            attackerBitBoard &= attackerBitBoard - 1;
+        }
+        return Collections.unmodifiableList(attackers);
     }
 
     public Pawn getEnPassantPawn() {
@@ -109,6 +287,10 @@ public final class Board {
         return this.transitionMove;
     }
 
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
     public static Board createStandardBoard() {
         return STANDARD_BOARD;
     }
@@ -155,31 +337,120 @@ public final class Board {
         return builder.build();
     }
 
-    private Collection<Move> calculateLegalMoves(final Collection<Piece> pieces) {
-        return pieces.stream().flatMap(piece -> piece.calculateLegalMoves(this).stream())
-                      .collect(Collectors.toList());
+    private Collection<Move> calculateLegalMoves(final Alliance alliance) {
+        final MoveList moveList = new MoveList();
+        MoveGenerator.generateLegalMoves(this.bitBoard, alliance, moveList);
+        final List<Move> legalMoves = new ArrayList<>(moveList.size());
+        for (int i = 0; i < moveList.size(); i++) {
+            legalMoves.add(MoveFactory.createMove(this, moveList.get(i)));
+        }
+        return Collections.unmodifiableList(legalMoves);
+    }
+
+    private static BitBoard createBitBoard(final Builder builder) {
+        final BitBoard bitBoard = builder.bitBoard;
+        bitBoard.sideToMove = builder.nextMoveMaker;
+        bitBoard.castleRights =
+                calculateCastleRights(builder.boardConfig, Alliance.WHITE, 60, 63, 56,
+                        BitBoard.WHITE_KING_SIDE_CASTLE, BitBoard.WHITE_QUEEN_SIDE_CASTLE) |
+                calculateCastleRights(builder.boardConfig, Alliance.BLACK, 4, 7, 0,
+                        BitBoard.BLACK_KING_SIDE_CASTLE, BitBoard.BLACK_QUEEN_SIDE_CASTLE);
+        bitBoard.enPassantSquare = builder.enPassantPawn == null ? BitBoard.NO_SQUARE :
+                builder.enPassantPawn.getPiecePosition() -
+                (builder.enPassantPawn.getPieceAllegiance().getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+        return bitBoard;
+    }
+
+    private static int calculateCastleRights(final Piece[] boardConfig,
+                                             final Alliance alliance,
+                                             final int kingCoordinate,
+                                             final int kingSideRookCoordinate,
+                                             final int queenSideRookCoordinate,
+                                             final int kingSideRight,
+                                             final int queenSideRight) {
+        final Piece piece = boardConfig[kingCoordinate];
+        if (!(piece instanceof King) || piece.getPieceAllegiance() != alliance || !piece.isFirstMove()) {
+            return 0;
+        }
+        final King king = (King) piece;
+        if (king.isCastled()) {
+            return 0;
+        }
+        int castleRights = 0;
+        if (king.isKingSideCastleCapable() && isCastleRook(boardConfig[kingSideRookCoordinate], alliance)) {
+            castleRights |= kingSideRight;
+        }
+        if (king.isQueenSideCastleCapable() && isCastleRook(boardConfig[queenSideRookCoordinate], alliance)) {
+            castleRights |= queenSideRight;
+        }
+        return castleRights;
     }
 
-    private static Collection<Piece> calculateActivePieces(final Builder builder,
-                                                           final Alliance alliance) {
-        return builder.boardConfig.values().stream()
-               .filter(piece -> piece.getPieceAllegiance() == alliance)
-               .collect(Collectors.toList());
+    private static boolean isCastleRook(final Piece piece,
+                                        final Alliance alliance) {
+        return piece != null && piece.getPieceType() == Piece.PieceType.ROOK &&
+               piece.getPieceAllegiance() == alliance && piece.isFirstMove();
     }
 
     public static class Builder {
 
-        Map<Integer, Piece> boardConfig;
+        //null once build() has handed them to the board
+        Piece[] boardConfig;
+        List<Piece> whitePieces;
+        List<Piece> blackPieces;
+        BitBoard bitBoard;
+        //where the piece on each square sits in its side's list, so removing it needs no search
+        final int[] pieceIndices;
         Alliance nextMoveMaker;
         Pawn enPassantPawn;
         Move transitionMove;
+        long zobristKey;
+        boolean hasZobristKey;
 
         public Builder() {
-            this.boardConfig = new HashMap<>(32, 1.0f);
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+            this.whitePieces = new ArrayList<>(16);
+            this.blackPieces = new ArrayList<>(16);
+            this.bitBoard = new BitBoard();
+            this.pieceIndices = new int[BoardUtils.NUM_TILES];
+        }
+
+        //starts from the pieces of an existing board so a move only touches the tiles it changes
+        Builder(final Board board) {
+            this.boardConfig = board.boardConfig.clone();
+            this.whitePieces = new ArrayList<>(board.whitePieces);
+            this.blackPieces = new ArrayList<>(board.blackPieces);
+            this.bitBoard = new BitBoard(board.bitBoard);
+            this.pieceIndices = new int[BoardUtils.NUM_TILES];
+            indexPieces(this.whitePieces);
+            indexPieces(this.blackPieces);
         }
 
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(), piece);
+            removePiece(piece.getPiecePosition());
+            final List<Piece> pieces = activePieces(piece.getPieceAllegiance());
+            this.boardConfig[piece.getPiecePosition()] = piece;
+            this.pieceIndices[piece.getPiecePosition()] = pieces.size();
+            pieces.add(piece);
+            this.bitBoard.setPiece(piece);
+            return this;
+        }
+
+        Builder removePiece(final int coordinate) {
+            checkNotBuilt();
+            final Piece piece = this.boardConfig[coordinate];
+            if (piece != null) {
+                this.boardConfig[coordinate] = null;
+                //the last piece of the list fills the gap
+                final List<Piece> pieces = activePieces(piece.getPieceAllegiance());
+                final Piece lastPiece = pieces.remove(pieces.size() - 1);
+                if (lastPiece != piece) {
+                    final int index = this.pieceIndices[coordinate];
+                    pieces.set(index, lastPiece);
+                    this.pieceIndices[lastPiece.getPiecePosition()] = index;
+                }
+                this.bitBoard.removePiece(coordinate);
+            }
             return this;
         }
 
@@ -198,8 +469,36 @@ public final class Board {
             return this;
         }
 
+        Builder setZobristKey(final long zobristKey) {
+            this.zobristKey = zobristKey;
+            this.hasZobristKey = true;
+            return this;
+        }
+
         public Board build() {
-            return new Board(this);
+            checkNotBuilt();
+            final Board board = new Board(this);
+            this.boardConfig = null;
+            this.whitePieces = null;
+            this.blackPieces = null;
+            this.bitBoard = null;
+            return board;
+        }
+
+        private List<Piece> activePieces(final Alliance alliance) {
+            return alliance.isWhite() ? this.whitePieces : this.blackPieces;
+        }
+
+        private void indexPieces(final List<Piece> pieces) {
+            for (int i = 0; i < pieces.size(); i++) {
+                this.pieceIndices[pieces.get(i).getPiecePosition()] = i;
+            }
+        }
+
+        private void checkNotBuilt() {
+            if (this.boardConfig == null) {
+                throw new RuntimeException("Builder has already built its board!");
+            }
         }
 
     }
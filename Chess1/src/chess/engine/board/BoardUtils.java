@@ -8,7 +8,6 @@ import java.util.List;
 import java.util.Map;
 
 import chess.engine.board.Move.MoveFactory;
-import chess.engine.pieces.King;
 import chess.engine.pieces.Piece;
 
 public enum  BoardUtils {
@@ -99,15 +98,6 @@ public enum  BoardUtils {
         return transition.getToBoard().currentPlayer().isInCheck();
     }
 
-    public static boolean isKingPawnTrap(final Board board,
-                                         final King king,
-                                         final int frontTile) {
-        final Piece piece = board.getPiece(frontTile);
-        return piece != null &&
-               piece.getPieceType() == Piece.PieceType.PAWN &&
-               piece.getPieceAllegiance() != king.getPieceAllegiance();
-    }
-
     public static int mvvlva(final Move move) {
         final Piece movingPiece = move.getMovedPiece();
         if(move.isAttack()) {
@@ -117,6 +107,15 @@ public enum  BoardUtils {
         return Piece.PieceType.KING.getPieceValue() - movingPiece.getPieceValue();
     }
 
+    public static int mvvlva(final int encodedMove) {
+        final int movingPieceValue = BitBoard.pieceTypeOf(MoveEncoding.getMovedPieceCode(encodedMove)).getPieceValue();
+        if(MoveEncoding.isCapture(encodedMove)) {
+            final int attackedPieceValue = BitBoard.pieceTypeOf(MoveEncoding.getCapturedPieceCode(encodedMove)).getPieceValue();
+            return (attackedPieceValue - movingPieceValue + Piece.PieceType.KING.getPieceValue()) * 100;
+        }
+        return Piece.PieceType.KING.getPieceValue() - movingPieceValue;
+    }
+
     public static List<Move> lastNMoves(final Board board, int N) {
         final List<Move> moveHistory = new ArrayList<>();
         Move currentMove = board.getTransitionMove();
@@ -130,7 +129,6 @@ public enum  BoardUtils {
     }
 
     public static boolean isEndGame(final Board board) {
-        return board.currentPlayer().isInCheckMate() ||
-               board.currentPlayer().isInStaleMate();
+        return board.getGameStatus().isGameOver();
     }
 }
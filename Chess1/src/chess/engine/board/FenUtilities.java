@@ -0,0 +1,99 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Bishop;
+import chess.engine.pieces.King;
+import chess.engine.pieces.Knight;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Queen;
+import chess.engine.pieces.Rook;
+
+public final class FenUtilities {
+
+    private FenUtilities() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    public static Board createGameFromFEN(final String fenString) {
+        final String[] fenPartitions = fenString.trim().split("\\s+");
+        if (fenPartitions.length < 4) {
+            throw new RuntimeException("Invalid FEN string: " + fenString);
+        }
+        final Board.Builder builder = new Board.Builder();
+        final String castleRights = fenPartitions[2];
+        int coordinate = 0;
+        for (final char fenCharacter : fenPartitions[0].toCharArray()) {
+            if (fenCharacter == '/') {
+                continue;
+            }
+            if (Character.isDigit(fenCharacter)) {
+                coordinate += fenCharacter - '0';
+                continue;
+            }
+            builder.setPiece(createPiece(fenCharacter, coordinate, castleRights));
+            coordinate++;
+        }
+        if (coordinate != BoardUtils.NUM_TILES) {
+            throw new RuntimeException("Invalid FEN board: " + fenPartitions[0]);
+        }
+        final Alliance moveMaker = moveMaker(fenPartitions[1]);
+        builder.setMoveMaker(moveMaker);
+        if (!"-".equals(fenPartitions[3])) {
+            final int enPassantSquare = BoardUtils.INSTANCE.getCoordinateAtPosition(fenPartitions[3]);
+            final Piece enPassantPawn = builder.boardConfig[enPassantSquare -
+                    moveMaker.getDirection() * BoardUtils.NUM_TILES_PER_ROW];
+            if (enPassantPawn instanceof Pawn && enPassantPawn.getPieceAllegiance() != moveMaker) {
+                builder.setEnPassantPawn((Pawn) enPassantPawn);
+            }
+        }
+        return builder.build();
+    }
+
+    private static Piece createPiece(final char fenCharacter,
+                                     final int coordinate,
+                                     final String castleRights) {
+        final Alliance alliance = Character.isUpperCase(fenCharacter) ? Alliance.WHITE : Alliance.BLACK;
+        switch (Character.toLowerCase(fenCharacter)) {
+            case 'p':
+                return new Pawn(alliance, coordinate, alliance.isWhite() ?
+                        BoardUtils.INSTANCE.SEVENTH_ROW.get(coordinate) : BoardUtils.INSTANCE.SECOND_ROW.get(coordinate));
+            case 'n':
+                return new Knight(alliance, coordinate);
+            case 'b':
+                return new Bishop(alliance, coordinate);
+            case 'r':
+                return new Rook(alliance, coordinate, isCastleRook(coordinate, castleRights));
+            case 'q':
+                return new Queen(alliance, coordinate);
+            case 'k':
+                final boolean isKingSideCastleCapable = castleRights.indexOf(alliance.isWhite() ? 'K' : 'k') >= 0;
+                final boolean isQueenSideCastleCapable = castleRights.indexOf(alliance.isWhite() ? 'Q' : 'q') >= 0;
+                return new King(alliance, coordinate, isKingSideCastleCapable || isQueenSideCastleCapable, false,
+                        isKingSideCastleCapable, isQueenSideCastleCapable);
+            default:
+                throw new RuntimeException("Invalid FEN piece: " + fenCharacter);
+        }
+    }
+
+    private static boolean isCastleRook(final int coordinate,
+                                        final String castleRights) {
+        switch (coordinate) {
+            case 63: return castleRights.indexOf('K') >= 0;
+            case 56: return castleRights.indexOf('Q') >= 0;
+            case 7: return castleRights.indexOf('k') >= 0;
+            case 0: return castleRights.indexOf('q') >= 0;
+            default: return false;
+        }
+    }
+
+    private static Alliance moveMaker(final String moveMakerString) {
+        if ("w".equals(moveMakerString)) {
+            return Alliance.WHITE;
+        } else if ("b".equals(moveMakerString)) {
+            return Alliance.BLACK;
+        }
+        throw new RuntimeException("Invalid FEN side to move: " + moveMakerString);
+    }
+
+}
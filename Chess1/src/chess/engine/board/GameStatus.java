@@ -0,0 +1,79 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Piece.PieceType;
+
+public enum GameStatus {
+
+    IN_PLAY,
+    CHECK,
+    CHECKMATE,
+    STALEMATE,
+    DRAW_INSUFFICIENT_MATERIAL;
+
+    //a8 is a light square
+    private static final long LIGHT_SQUARES = initLightSquares();
+
+    public boolean isCheck() {
+        return this == CHECK || this == CHECKMATE;
+    }
+
+    public boolean isCheckMate() {
+        return this == CHECKMATE;
+    }
+
+    public boolean isStaleMate() {
+        return this == STALEMATE;
+    }
+
+    public boolean isDraw() {
+        return this == STALEMATE || this == DRAW_INSUFFICIENT_MATERIAL;
+    }
+
+    public boolean isGameOver() {
+        return this != IN_PLAY && this != CHECK;
+    }
+
+    static GameStatus calculateGameStatus(final Board board) {
+        final Alliance sideToMove = board.getSideToMove();
+        final boolean isInCheck = board.isInCheck(sideToMove);
+        if (board.getLegalMoves(sideToMove).isEmpty()) {
+            return isInCheck ? CHECKMATE : STALEMATE;
+        }
+        if (isInsufficientMaterial(board.getBitBoard())) {
+            return DRAW_INSUFFICIENT_MATERIAL;
+        }
+        return isInCheck ? CHECK : IN_PLAY;
+    }
+
+    //bare kings, a single minor piece, or bishops that all stand on one square colour
+    private static boolean isInsufficientMaterial(final BitBoard bitBoard) {
+        long bishops = 0;
+        long knights = 0;
+        for (final Alliance alliance : Alliance.values()) {
+            if ((bitBoard.getPieces(PieceType.PAWN, alliance) |
+                 bitBoard.getPieces(PieceType.ROOK, alliance) |
+                 bitBoard.getPieces(PieceType.QUEEN, alliance)) != 0) {
+                return false;
+            }
+            bishops |= bitBoard.getPieces(PieceType.BISHOP, alliance);
+            knights |= bitBoard.getPieces(PieceType.KNIGHT, alliance);
+        }
+        final int minorPieces = Long.bitCount(bishops | knights);
+        if (minorPieces <= 1) {
+            return true;
+        }
+        return knights == 0 && ((bishops & LIGHT_SQUARES) == 0 || (bishops & ~LIGHT_SQUARES) == 0);
+    }
+
+    private static long initLightSquares() {
+        long lightSquares = 0;
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            if (((BitBoardUtils.rowOf(square) + BitBoardUtils.columnOf(square)) & 1) == 0) {
+                lightSquares |= BitBoardUtils.squareBit(square);
+            }
+        }
+        return lightSquares;
+    }
+
+}
@@ -0,0 +1,141 @@
+package chess.engine.board;
+
+public enum MagicBitBoards {
+
+    INSTANCE;
+
+    private static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    //multipliers found by random sparse search for this board's a8 = 0 tile layout
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] ROOK_MAGICS = {
+            0x1080004008801020L, 0x0840092002C03000L, 0x1900200010400900L, 0x0880100008000480L,
+            0x4200100420080200L, 0x8100020100080400L, 0x0200040110886200L, 0x0200008040220411L,
+            0x0404800084400220L, 0x0000401000402000L, 0x0086001081220440L, 0x0408800800100280L,
+            0x000A001201040820L, 0x8848800200840080L, 0x4001000100040200L, 0x0442000102105084L,
+            0x9080010020804100L, 0x0040404000201009L, 0x0000808010002009L, 0x2200090021D00100L,
+            0x0008008008040080L, 0x0004004002010040L, 0x0011040008015042L, 0x00000A0001768104L,
+            0x0000800080204009L, 0x2010004140002001L, 0x9800200280100080L, 0x1000100080080080L,
+            0x0442000A00049020L, 0x2100040080020080L, 0x0800120400900148L, 0x0010040A00128541L,
+            0x2800804000800030L, 0x1010002000400041L, 0x4000200011004100L, 0x0610008410800800L,
+            0x0400802402800800L, 0xC100020080800400L, 0x0002000802000401L, 0x0182085882000401L,
+            0x0220204000808000L, 0x2860100040024022L, 0x0001002004110040L, 0x99101042000A0020L,
+            0x0004080004008080L, 0x0010040002008080L, 0x2012004881020004L, 0x8300842444820011L,
+            0x0088403882010200L, 0x0820400080210100L, 0x0110910040A00300L, 0x0801100280080480L,
+            0x0242009008200600L, 0x1002000489500200L, 0x0040800200010080L, 0x0091800041000080L,
+            0x0000209300488001L, 0x04C1002414824001L, 0x020020000B001041L, 0x7000100004200901L,
+            0x8002002004100802L, 0x30010002084C0007L, 0x0888221800813004L, 0x4000002840840112L
+    };
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] ROOK_ATTACKS = initAttackTable(ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS,
+            ROOK_SHIFTS, ROOK_OFFSETS);
+
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_MAGICS = {
+            0x10102002004A1420L, 0x8020040400584008L, 0x10510800811201C8L, 0x5204042080000088L,
+            0x2204106880000002L, 0x1401042004000000L, 0x0400880410042004L, 0x0028208200A02020L,
+            0x1500241990010E00L, 0x8001200182020A40L, 0x40004101030B0000L, 0x8002041042000100L,
+            0x4010011041020038L, 0x0000010421044000L, 0x1500210808020A00L, 0x8000088400880520L,
+            0x0405004010040100L, 0x1005823210040108L, 0x2708008102040011L, 0x4048200404009100L,
+            0x0018104101400024L, 0x0003000601190101L, 0x8004803108491000L, 0x8014241200820800L,
+            0x0006E080100C3040L, 0x0501044A11041800L, 0x9020300008004045L, 0x0894080000220040L,
+            0x1001010083104000L, 0x5004030040900080L, 0x000400422C012400L, 0x0002128698404812L,
+            0x1010108404900440L, 0x0928021182084100L, 0x2006080409020024L, 0x1010202020180080L,
+            0xA010008200202200L, 0x2098015100019004L, 0x0002041440810811L, 0x802A02020000B098L,
+            0x0009015090004060L, 0x4000821082081001L, 0x0100210040420800L, 0x0800004010488A00L,
+            0x2000081104004040L, 0x4C8E029015000082L, 0x0420340322224842L, 0x1298260043400210L,
+            0x0000822802400008L, 0x00008A0101600000L, 0x3040003412080021L, 0x3040290220884800L,
+            0x4A1500401041004AL, 0x8010200282020781L, 0x0020203142209091L, 0x0070300600902110L,
+            0x0040808800B62048L, 0x0000810400C44420L, 0x00080400440C0441L, 0x8340080020840411L,
+            0x0000000104208200L, 0x0000800810D00080L, 0x0400530411080200L, 0x4040702400932244L
+    };
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_ATTACKS = initAttackTable(BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS,
+            BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+    public static long rookAttacks(final int square,
+                                   final long occupied) {
+        return ROOK_ATTACKS[ROOK_OFFSETS[square] +
+                (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+    }
+
+    public static long bishopAttacks(final int square,
+                                     final long occupied) {
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[square] +
+                (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+    }
+
+    public static long queenAttacks(final int square,
+                                    final long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    private static long[] initAttackTable(final int[][] directions,
+                                          final long[] masks,
+                                          final long[] magics,
+                                          final int[] shifts,
+                                          final int[] offsets) {
+        int tableSize = 0;
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            masks[square] = relevantOccupancyMask(square, directions);
+            shifts[square] = Long.SIZE - Long.bitCount(masks[square]);
+            offsets[square] = tableSize;
+            tableSize += 1 << Long.bitCount(masks[square]);
+        }
+        final long[] attackTable = new long[tableSize];
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            long subset = 0;
+            do {
+                final int index = (int) ((subset * magics[square]) >>> shifts[square]);
+                attackTable[offsets[square] + index] = slidingAttacks(square, subset, directions);
+                subset = (subset - masks[square]) & masks[square];
+            } while (subset != 0);
+        }
+        return attackTable;
+    }
+
+    private static long relevantOccupancyMask(final int square,
+                                              final int[][] directions) {
+        long mask = 0L;
+        for (final int[] direction : directions) {
+            int row = BitBoardUtils.rowOf(square) + direction[0];
+            int column = BitBoardUtils.columnOf(square) + direction[1];
+            while (isOnBoard(row + direction[0], column + direction[1])) {
+                mask |= BitBoardUtils.squareBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    private static long slidingAttacks(final int square,
+                                       final long occupied,
+                                       final int[][] directions) {
+        long attacks = 0L;
+        for (final int[] direction : directions) {
+            int row = BitBoardUtils.rowOf(square) + direction[0];
+            int column = BitBoardUtils.columnOf(square) + direction[1];
+            while (isOnBoard(row, column)) {
+                final long bit = BitBoardUtils.squareBit(row * BoardUtils.NUM_TILES_PER_ROW + column);
+                attacks |= bit;
+                if ((occupied & bit) != 0) {
+                    break;
+                }
+                row += direction[0];
+                column += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    private static boolean isOnBoard(final int row,
+                                     final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW &&
+               column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+
+}
@@ -2,9 +2,11 @@ package chess.engine.board;
 
 import java.util.Objects;
 
+import chess.engine.Alliance;
 import chess.engine.board.Board.Builder;
 import chess.engine.pieces.Pawn;
 import chess.engine.pieces.Piece;
+import chess.engine.pieces.Piece.PieceType;
 import chess.engine.pieces.Rook;
 
 public abstract class Move {
@@ -83,23 +85,48 @@ public abstract class Move {
         return null;
     }
 
+    public int getEncodedMove() {
+        return MoveEncoding.encode(getCurrentCoordinate(), this.destinationCoordinate, getMoveFlags(),
+                BitBoard.pieceCode(this.movedPiece), isAttack() ? BitBoard.pieceCode(getAttackedPiece()) : BitBoard.EMPTY);
+    }
+
+    int getMoveFlags() {
+        return MoveEncoding.QUIET_MOVE;
+    }
+
     public Board execute() {
-        final Board.Builder builder = new Builder();
-        this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
-        this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+        final Board.Builder builder = new Builder(this.board);
+        builder.removePiece(getCurrentCoordinate());
         builder.setPiece(this.movedPiece.movePiece(this));
         builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
         builder.setMoveTransition(this);
+        builder.setZobristKey(calculateZobristKey());
         return builder.build();
     }
 
+    //keeps the move that led to the restored board, so the game before it is still known
     public Board undo() {
-        final Board.Builder builder = new Builder();
-        this.board.getAllPieces().forEach(builder::setPiece);
+        final Board.Builder builder = new Builder(this.board);
         builder.setMoveMaker(this.board.currentPlayer().getAlliance());
+        builder.setMoveTransition(this.board.getTransitionMove());
         return builder.build();
     }
 
+    long calculateZobristKey() {
+        final BitBoard bitBoard = this.board.getBitBoard();
+        final Alliance sideToMove = bitBoard.getSideToMove();
+        final int movedPieceCode = BitBoard.pieceCode(this.movedPiece);
+        final int currentCoordinate = getCurrentCoordinate();
+        final int castleRights = bitBoard.getCastleRights();
+        return this.board.getZobristKey() ^
+               Zobrist.sideToMoveKey() ^
+               Zobrist.enPassantKey(bitBoard.getEnPassantSquare(), sideToMove, bitBoard.getPieces(PieceType.PAWN, sideToMove)) ^
+               Zobrist.pieceKey(movedPieceCode, currentCoordinate) ^
+               Zobrist.pieceKey(movedPieceCode, this.destinationCoordinate) ^
+               Zobrist.castleRightsKey(castleRights) ^
+               Zobrist.castleRightsKey(BitBoard.updateCastleRights(castleRights, currentCoordinate, this.destinationCoordinate));
+    }
+
     String disambiguationFile() {
         for(final Move move : this.board.currentPlayer().getLegalMoves()) {
             if(move.getDestinationCoordinate() == this.destinationCoordinate && !this.equals(move) &&
@@ -166,16 +193,27 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board pawnMovedBoard = this.decoratedMove.execute();
-            final Board.Builder builder = new Builder();
-            pawnMovedBoard.currentPlayer().getActivePieces().stream().filter(piece -> !this.promotedPawn.equals(piece)).forEach(builder::setPiece);
-            pawnMovedBoard.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(getCurrentCoordinate());
             builder.setPiece(this.promotionPiece.movePiece(this));
-            builder.setMoveMaker(pawnMovedBoard.currentPlayer().getAlliance());
+            builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
+        @Override
+        long calculateZobristKey() {
+            return this.decoratedMove.calculateZobristKey() ^
+                   Zobrist.pieceKey(BitBoard.pieceCode(this.promotedPawn), this.destinationCoordinate) ^
+                   Zobrist.pieceKey(BitBoard.pieceCode(this.promotionPiece), this.destinationCoordinate);
+        }
+
+        @Override
+        int getMoveFlags() {
+            return MoveEncoding.promotionFlags(this.promotionPiece.getPieceType(), this.decoratedMove.isAttack());
+        }
+
         @Override
         public boolean isAttack() {
             return this.decoratedMove.isAttack();
@@ -298,23 +336,29 @@ public abstract class Move {
             return this == other || other instanceof PawnEnPassantAttack && super.equals(other);
         }
 
+        @Override
+        int getMoveFlags() {
+            return MoveEncoding.EN_PASSANT_CAPTURE;
+        }
+
         @Override
         public Board execute() {
-            final Board.Builder builder = new Builder();
-            this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
-            this.board.currentPlayer().getOpponent().getActivePieces().stream().filter(piece -> !piece.equals(this.getAttackedPiece())).forEach(builder::setPiece);
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(getCurrentCoordinate());
+            builder.removePiece(getAttackedPiece().getPiecePosition());
             builder.setPiece(this.movedPiece.movePiece(this));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
         @Override
         public Board undo() {
-            final Board.Builder builder = new Builder();
-            this.board.getAllPieces().forEach(builder::setPiece);
+            final Board.Builder builder = new Builder(this.board);
             builder.setEnPassantPawn((Pawn)this.getAttackedPiece());
             builder.setMoveMaker(this.board.currentPlayer().getAlliance());
+            builder.setMoveTransition(this.board.getTransitionMove());
             return builder.build();
         }
 
@@ -334,19 +378,32 @@ public abstract class Move {
             return this == other || other instanceof PawnJump && super.equals(other);
         }
 
+        @Override
+        int getMoveFlags() {
+            return MoveEncoding.DOUBLE_PAWN_PUSH;
+        }
+
         @Override
         public Board execute() {
-            final Board.Builder builder = new Builder();
-            this.board.currentPlayer().getActivePieces().stream().filter(piece -> !this.movedPiece.equals(piece)).forEach(builder::setPiece);
-            this.board.currentPlayer().getOpponent().getActivePieces().forEach(builder::setPiece);
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(getCurrentCoordinate());
             final Pawn movedPawn = (Pawn)this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
             builder.setEnPassantPawn(movedPawn);
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
+        @Override
+        long calculateZobristKey() {
+            final Alliance opponent = this.board.currentPlayer().getOpponent().getAlliance();
+            return super.calculateZobristKey() ^
+                   Zobrist.enPassantKey((getCurrentCoordinate() + this.destinationCoordinate) / 2, opponent,
+                           this.board.getBitBoard().getPieces(PieceType.PAWN, opponent));
+        }
+
         @Override
         public String toString() {
             return BoardUtils.INSTANCE.getPositionAtCoordinate(this.destinationCoordinate);
@@ -384,20 +441,26 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Board.Builder builder = new Builder();
-            for (final Piece piece : this.board.getAllPieces()) {
-                if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
+            final Board.Builder builder = new Builder(this.board);
+            builder.removePiece(getCurrentCoordinate());
+            builder.removePiece(this.castleRookStart);
             builder.setPiece(this.movedPiece.movePiece(this));
             //calling movePiece here doesn't work, we need to explicitly create a new Rook
             builder.setPiece(new Rook(this.castleRook.getPieceAllegiance(), this.castleRookDestination, false));
             builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
             builder.setMoveTransition(this);
+            builder.setZobristKey(calculateZobristKey());
             return builder.build();
         }
 
+        @Override
+        long calculateZobristKey() {
+            final int rookCode = BitBoard.pieceCode(this.castleRook);
+            return super.calculateZobristKey() ^
+                   Zobrist.pieceKey(rookCode, this.castleRookStart) ^
+                   Zobrist.pieceKey(rookCode, this.castleRookDestination);
+        }
+
         @Override
         public int hashCode() {
             final int prime = 31;
@@ -446,6 +509,11 @@ public abstract class Move {
             return super.equals(otherKingSideCastleMove) && this.castleRook.equals(otherKingSideCastleMove.getCastleRook());
         }
 
+        @Override
+        int getMoveFlags() {
+            return MoveEncoding.KING_CASTLE;
+        }
+
         @Override
         public String toString() {
             return "O-O";
@@ -478,6 +546,11 @@ public abstract class Move {
             return super.equals(otherQueenSideCastleMove) && this.castleRook.equals(otherQueenSideCastleMove.getCastleRook());
         }
 
+        @Override
+        int getMoveFlags() {
+            return MoveEncoding.QUEEN_CASTLE;
+        }
+
         @Override
         public String toString() {
             return "O-O-O";
@@ -520,11 +593,22 @@ public abstract class Move {
             return this.attackedPiece;
         }
 
+        @Override
+        long calculateZobristKey() {
+            return super.calculateZobristKey() ^
+                   Zobrist.pieceKey(BitBoard.pieceCode(this.attackedPiece), this.attackedPiece.getPiecePosition());
+        }
+
         @Override
         public boolean isAttack() {
             return true;
         }
 
+        @Override
+        int getMoveFlags() {
+            return MoveEncoding.CAPTURE;
+        }
+
     }
 
     static class NullMove
@@ -544,6 +628,11 @@ public abstract class Move {
             return -1;
         }
 
+        @Override
+        public int getEncodedMove() {
+            return MoveEncoding.NULL_MOVE;
+        }
+
         @Override
         public Board execute() {
             throw new RuntimeException("cannot execute null move!");
@@ -568,13 +657,46 @@ public abstract class Move {
         public static Move createMove(final Board board,
                                       final int currentCoordinate,
                                       final int destinationCoordinate) {
-            for (final Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentCoordinate() == currentCoordinate &&
-                    move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
+            final Move move = board.getLegalMove(currentCoordinate, destinationCoordinate);
+            return move != null ? move : MoveUtils.NULL_MOVE;
+        }
+
+        public static Move createMove(final Board board,
+                                      final int encodedMove) {
+            final int currentCoordinate = MoveEncoding.getCurrentCoordinate(encodedMove);
+            final int destinationCoordinate = MoveEncoding.getDestinationCoordinate(encodedMove);
+            final Piece movedPiece = board.getPiece(currentCoordinate);
+            if (encodedMove == MoveEncoding.NULL_MOVE || movedPiece == null) {
+                return MoveUtils.NULL_MOVE;
+            }
+            final Piece attackedPiece = board.getPiece(destinationCoordinate);
+            final int flags = MoveEncoding.getFlags(encodedMove);
+            switch (flags) {
+                case MoveEncoding.DOUBLE_PAWN_PUSH:
+                    return new PawnJump(board, (Pawn) movedPiece, destinationCoordinate);
+                case MoveEncoding.KING_CASTLE:
+                    return new KingSideCastleMove(board, movedPiece, destinationCoordinate,
+                            (Rook) board.getPiece(destinationCoordinate + 1), destinationCoordinate + 1, destinationCoordinate - 1);
+                case MoveEncoding.QUEEN_CASTLE:
+                    return new QueenSideCastleMove(board, movedPiece, destinationCoordinate,
+                            (Rook) board.getPiece(destinationCoordinate - 2), destinationCoordinate - 2, destinationCoordinate + 1);
+                case MoveEncoding.EN_PASSANT_CAPTURE:
+                    return new PawnEnPassantAttack(board, movedPiece, destinationCoordinate, board.getEnPassantPawn());
+                case MoveEncoding.QUIET_MOVE:
+                    return movedPiece.getPieceType() == PieceType.PAWN ?
+                            new PawnMove(board, movedPiece, destinationCoordinate) :
+                            new MajorMove(board, movedPiece, destinationCoordinate);
+                case MoveEncoding.CAPTURE:
+                    return movedPiece.getPieceType() == PieceType.PAWN ?
+                            new PawnAttackMove(board, movedPiece, destinationCoordinate, attackedPiece) :
+                            new MajorAttackMove(board, movedPiece, destinationCoordinate, attackedPiece);
+                default:
+                    final Move pawnMove = MoveEncoding.isCapture(encodedMove) ?
+                            new PawnAttackMove(board, movedPiece, destinationCoordinate, attackedPiece) :
+                            new PawnMove(board, movedPiece, destinationCoordinate);
+                    return new PawnPromotion(pawnMove, ((Pawn) movedPiece).getPromotionPiece(
+                            MoveEncoding.getPromotionType(encodedMove), destinationCoordinate));
             }
-            return MoveUtils.NULL_MOVE;
         }
     }
 }
\ No newline at end of file
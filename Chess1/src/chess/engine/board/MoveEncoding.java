@@ -0,0 +1,96 @@
+package chess.engine.board;
+
+import chess.engine.pieces.Piece.PieceType;
+
+//bits 0-5 from, 6-11 to, 12-15 flags, 16-19 moved piece code, 20-23 captured piece code
+public enum MoveEncoding {
+
+    INSTANCE;
+
+    public static final int NULL_MOVE = 0;
+
+    public static final int QUIET_MOVE = 0;
+    public static final int DOUBLE_PAWN_PUSH = 1;
+    public static final int KING_CASTLE = 2;
+    public static final int QUEEN_CASTLE = 3;
+    public static final int CAPTURE = 4;
+    public static final int EN_PASSANT_CAPTURE = 5;
+    public static final int PROMOTION = 8;
+    public static final int PROMOTION_CAPTURE = PROMOTION | CAPTURE;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int NIBBLE_MASK = 0xF;
+    private static final int SHORT_MOVE_MASK = 0xFFFF;
+    private static final PieceType[] PROMOTION_TYPES = {
+            PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+    };
+
+    public static int encode(final int currentCoordinate,
+                             final int destinationCoordinate,
+                             final int flags,
+                             final int movedPieceCode,
+                             final int capturedPieceCode) {
+        return currentCoordinate |
+               (destinationCoordinate << 6) |
+               (flags << 12) |
+               (movedPieceCode << 16) |
+               ((capturedPieceCode & NIBBLE_MASK) << 20);
+    }
+
+    public static int promotionFlags(final PieceType promotionType,
+                                     final boolean isCapture) {
+        return (isCapture ? PROMOTION_CAPTURE : PROMOTION) | (promotionType.ordinal() - PieceType.KNIGHT.ordinal());
+    }
+
+    public static int getCurrentCoordinate(final int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int getDestinationCoordinate(final int move) {
+        return (move >>> 6) & SQUARE_MASK;
+    }
+
+    public static int getFlags(final int move) {
+        return (move >>> 12) & NIBBLE_MASK;
+    }
+
+    public static int getMovedPieceCode(final int move) {
+        return (move >>> 16) & NIBBLE_MASK;
+    }
+
+    public static int getCapturedPieceCode(final int move) {
+        return isCapture(move) ? (move >>> 20) & NIBBLE_MASK : BitBoard.EMPTY;
+    }
+
+    public static boolean isCapture(final int move) {
+        return (getFlags(move) & CAPTURE) != 0;
+    }
+
+    public static boolean isPromotion(final int move) {
+        return (getFlags(move) & PROMOTION) != 0;
+    }
+
+    public static boolean isCastle(final int move) {
+        final int flags = getFlags(move);
+        return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+    }
+
+    public static PieceType getPromotionType(final int move) {
+        return PROMOTION_TYPES[getFlags(move) & 3];
+    }
+
+    //from, to and flags only, enough to identify a move within one position
+    public static int toShortMove(final int move) {
+        return move & SHORT_MOVE_MASK;
+    }
+
+    public static String toString(final int move) {
+        if (move == NULL_MOVE) {
+            return "0000";
+        }
+        final String text = BoardUtils.INSTANCE.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+                            BoardUtils.INSTANCE.getPositionAtCoordinate(getDestinationCoordinate(move));
+        return isPromotion(move) ? text + getPromotionType(move).toString().toLowerCase() : text;
+    }
+
+}
@@ -0,0 +1,412 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Piece.PieceType;
+
+public enum MoveGenerator {
+
+    INSTANCE;
+
+    private static final PieceType[] PROMOTION_TYPES = {
+            PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT
+    };
+    private static final PieceType[] OFFICER_TYPES = {
+            PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN
+    };
+
+    //captures, en passant and every promotion
+    public static final int NOISY_MOVES = 1;
+    //everything else, castles included
+    public static final int QUIET_MOVES = 2;
+    public static final int ALL_MOVES = NOISY_MOVES | QUIET_MOVES;
+
+    public static void generateLegalMoves(final BitBoard bitBoard,
+                                          final Alliance alliance,
+                                          final MoveList moveList) {
+        generateLegalMoves(bitBoard, alliance, ALL_MOVES, ~0L, moveList);
+    }
+
+    public static void generateLegalMoves(final BitBoard bitBoard,
+                                          final Alliance alliance,
+                                          final int moveTypes,
+                                          final MoveList moveList) {
+        generateLegalMoves(bitBoard, alliance, moveTypes, ~0L, moveList);
+    }
+
+    //emits only legal moves: pins and check evasions are resolved up front instead of by trial execution
+    public static void generateLegalMoves(final BitBoard bitBoard,
+                                          final Alliance alliance,
+                                          final int moveTypes,
+                                          final long fromMask,
+                                          final MoveList moveList) {
+        final Alliance opponent = alliance.getOpponent();
+        final int kingCoordinate = bitBoard.getKingSquare(alliance);
+        final long occupied = bitBoard.getOccupied();
+        final long targets = destinationTargets(bitBoard, opponent, moveTypes);
+        final long checkers = bitBoard.attackersOf(kingCoordinate, opponent, occupied);
+        if ((fromMask & BitBoardUtils.squareBit(kingCoordinate)) != 0) {
+            generateKingMoves(bitBoard, alliance, kingCoordinate, targets, occupied, moveList);
+        }
+        if (Long.bitCount(checkers) > 1) {
+            return;
+        }
+        final long checkMask = checkers == 0 ? ~0L :
+                checkers | BitBoardUtils.BETWEEN[kingCoordinate][Long.numberOfTrailingZeros(checkers)];
+        final long pinnedPieces = calculatePinnedPieces(bitBoard, alliance, kingCoordinate, occupied);
+        generatePawnMoves(bitBoard, alliance, kingCoordinate, checkMask, pinnedPieces, moveTypes, fromMask, moveList);
+        for (final PieceType pieceType : OFFICER_TYPES) {
+            final int movedPieceCode = BitBoard.pieceCode(pieceType, alliance);
+            long pieces = bitBoard.getPieces(pieceType, alliance) & fromMask;
+            while (pieces != 0) {
+                final int currentCoordinate = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                addMoves(bitBoard, currentCoordinate, movedPieceCode,
+                        attacks(pieceType, currentCoordinate, occupied) & targets &
+                        legalDestinationMask(currentCoordinate, kingCoordinate, checkMask, pinnedPieces), moveList);
+            }
+        }
+        if (checkers == 0 && (moveTypes & QUIET_MOVES) != 0 &&
+            (fromMask & BitBoardUtils.squareBit(kingCoordinate)) != 0) {
+            generateCastleMoves(bitBoard, alliance, kingCoordinate, occupied, moveList);
+        }
+    }
+
+    //same moves as generateLegalMoves, counted from destination sets without encoding any of them
+    public static int countLegalMoves(final BitBoard bitBoard,
+                                      final Alliance alliance,
+                                      final long fromMask) {
+        final Alliance opponent = alliance.getOpponent();
+        final int kingCoordinate = bitBoard.getKingSquare(alliance);
+        final long occupied = bitBoard.getOccupied();
+        final long targets = ~bitBoard.getOccupancy(alliance);
+        final long checkers = bitBoard.attackersOf(kingCoordinate, opponent, occupied);
+        final boolean includesKing = (fromMask & BitBoardUtils.squareBit(kingCoordinate)) != 0;
+        int count = includesKing ?
+                Long.bitCount(safeKingDestinations(bitBoard, alliance, kingCoordinate, targets, occupied)) : 0;
+        if (Long.bitCount(checkers) > 1) {
+            return count;
+        }
+        final long checkMask = checkers == 0 ? ~0L :
+                checkers | BitBoardUtils.BETWEEN[kingCoordinate][Long.numberOfTrailingZeros(checkers)];
+        final long pinnedPieces = calculatePinnedPieces(bitBoard, alliance, kingCoordinate, occupied);
+        count += countPawnMoves(bitBoard, alliance, kingCoordinate, checkMask, pinnedPieces, fromMask);
+        for (final PieceType pieceType : OFFICER_TYPES) {
+            long pieces = bitBoard.getPieces(pieceType, alliance) & fromMask;
+            while (pieces != 0) {
+                final int currentCoordinate = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                count += Long.bitCount(attacks(pieceType, currentCoordinate, occupied) & targets &
+                        legalDestinationMask(currentCoordinate, kingCoordinate, checkMask, pinnedPieces));
+            }
+        }
+        if (checkers == 0 && includesKing) {
+            if (canCastleKingSide(bitBoard, alliance, kingCoordinate, occupied)) {
+                count++;
+            }
+            if (canCastleQueenSide(bitBoard, alliance, kingCoordinate, occupied)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    //the move is checked against the legal moves of its own piece only
+    public static boolean isLegalMove(final BitBoard bitBoard,
+                                      final Alliance alliance,
+                                      final int move,
+                                      final MoveList scratchList) {
+        if (move == MoveEncoding.NULL_MOVE) {
+            return false;
+        }
+        final int currentCoordinate = MoveEncoding.getCurrentCoordinate(move);
+        if (bitBoard.getPieceCode(currentCoordinate) != MoveEncoding.getMovedPieceCode(move)) {
+            return false;
+        }
+        scratchList.clear();
+        generateLegalMoves(bitBoard, alliance, ALL_MOVES, BitBoardUtils.squareBit(currentCoordinate), scratchList);
+        return scratchList.contains(move);
+    }
+
+    public static boolean isNoisyMove(final int move) {
+        return MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move);
+    }
+
+    private static long destinationTargets(final BitBoard bitBoard,
+                                           final Alliance opponent,
+                                           final int moveTypes) {
+        long targets = 0L;
+        if ((moveTypes & NOISY_MOVES) != 0) {
+            targets |= bitBoard.getOccupancy(opponent);
+        }
+        if ((moveTypes & QUIET_MOVES) != 0) {
+            targets |= ~bitBoard.getOccupied();
+        }
+        return targets;
+    }
+
+    public static long attacks(final PieceType pieceType,
+                               final int square,
+                               final long occupied) {
+        switch (pieceType) {
+            case KNIGHT:
+                return BitBoardUtils.KNIGHT_ATTACKS[square];
+            case BISHOP:
+                return MagicBitBoards.bishopAttacks(square, occupied);
+            case ROOK:
+                return MagicBitBoards.rookAttacks(square, occupied);
+            case QUEEN:
+                return MagicBitBoards.queenAttacks(square, occupied);
+            case KING:
+                return BitBoardUtils.KING_ATTACKS[square];
+            default:
+                throw new RuntimeException("Should not reach here!");
+        }
+    }
+
+    private static long calculatePinnedPieces(final BitBoard bitBoard,
+                                              final Alliance alliance,
+                                              final int kingCoordinate,
+                                              final long occupied) {
+        final Alliance opponent = alliance.getOpponent();
+        final long queens = bitBoard.getPieces(PieceType.QUEEN, opponent);
+        long snipers = (MagicBitBoards.rookAttacks(kingCoordinate, 0L) &
+                        (bitBoard.getPieces(PieceType.ROOK, opponent) | queens)) |
+                       (MagicBitBoards.bishopAttacks(kingCoordinate, 0L) &
+                        (bitBoard.getPieces(PieceType.BISHOP, opponent) | queens));
+        long pinnedPieces = 0L;
+        while (snipers != 0) {
+            final int sniperCoordinate = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            final long blockers = BitBoardUtils.BETWEEN[kingCoordinate][sniperCoordinate] & occupied;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinnedPieces |= blockers & bitBoard.getOccupancy(alliance);
+            }
+        }
+        return pinnedPieces;
+    }
+
+    private static long legalDestinationMask(final int currentCoordinate,
+                                             final int kingCoordinate,
+                                             final long checkMask,
+                                             final long pinnedPieces) {
+        return (pinnedPieces & BitBoardUtils.squareBit(currentCoordinate)) != 0 ?
+                checkMask & BitBoardUtils.LINES[kingCoordinate][currentCoordinate] : checkMask;
+    }
+
+    private static void addMoves(final BitBoard bitBoard,
+                                 final int currentCoordinate,
+                                 final int movedPieceCode,
+                                 long destinations,
+                                 final MoveList moveList) {
+        while (destinations != 0) {
+            final int destinationCoordinate = Long.numberOfTrailingZeros(destinations);
+            destinations &= destinations - 1;
+            final int capturedPieceCode = bitBoard.getPieceCode(destinationCoordinate);
+            moveList.add(MoveEncoding.encode(currentCoordinate, destinationCoordinate,
+                    capturedPieceCode == BitBoard.EMPTY ? MoveEncoding.QUIET_MOVE : MoveEncoding.CAPTURE,
+                    movedPieceCode, capturedPieceCode));
+        }
+    }
+
+    private static void generateKingMoves(final BitBoard bitBoard,
+                                          final Alliance alliance,
+                                          final int kingCoordinate,
+                                          final long targets,
+                                          final long occupied,
+                                          final MoveList moveList) {
+        addMoves(bitBoard, kingCoordinate, BitBoard.pieceCode(PieceType.KING, alliance),
+                safeKingDestinations(bitBoard, alliance, kingCoordinate, targets, occupied), moveList);
+    }
+
+    private static long safeKingDestinations(final BitBoard bitBoard,
+                                             final Alliance alliance,
+                                             final int kingCoordinate,
+                                             final long targets,
+                                             final long occupied) {
+        final Alliance opponent = alliance.getOpponent();
+        //the king must not hide behind itself from a slider
+        final long occupiedWithoutKing = occupied & ~BitBoardUtils.squareBit(kingCoordinate);
+        long destinations = BitBoardUtils.KING_ATTACKS[kingCoordinate] & targets;
+        long safeDestinations = 0L;
+        while (destinations != 0) {
+            final int destinationCoordinate = Long.numberOfTrailingZeros(destinations);
+            destinations &= destinations - 1;
+            if (bitBoard.attackersOf(destinationCoordinate, opponent, occupiedWithoutKing) == 0) {
+                safeDestinations |= BitBoardUtils.squareBit(destinationCoordinate);
+            }
+        }
+        return safeDestinations;
+    }
+
+    private static void generatePawnMoves(final BitBoard bitBoard,
+                                          final Alliance alliance,
+                                          final int kingCoordinate,
+                                          final long checkMask,
+                                          final long pinnedPieces,
+                                          final int moveTypes,
+                                          final long fromMask,
+                                          final MoveList moveList) {
+        final boolean includeNoisy = (moveTypes & NOISY_MOVES) != 0;
+        final boolean includeQuiet = (moveTypes & QUIET_MOVES) != 0;
+        final int movedPieceCode = BitBoard.pieceCode(PieceType.PAWN, alliance);
+        final int forwardOffset = alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        final int startRow = alliance.isWhite() ? 6 : 1;
+        final long enemies = bitBoard.getOccupancy(alliance.getOpponent());
+        final int enPassantSquare = bitBoard.getSideToMove() == alliance ?
+                bitBoard.getEnPassantSquare() : BitBoard.NO_SQUARE;
+        long pawns = bitBoard.getPieces(PieceType.PAWN, alliance) & fromMask;
+        while (pawns != 0) {
+            final int currentCoordinate = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            final long legalDestinations = legalDestinationMask(currentCoordinate, kingCoordinate, checkMask, pinnedPieces);
+            final int pushCoordinate = currentCoordinate + forwardOffset;
+            if (BoardUtils.isValidTileCoordinate(pushCoordinate) && !bitBoard.isOccupied(pushCoordinate)) {
+                if ((legalDestinations & BitBoardUtils.squareBit(pushCoordinate)) != 0) {
+                    if (alliance.isPawnPromotionSquare(pushCoordinate)) {
+                        if (includeNoisy) {
+                            addPromotions(currentCoordinate, pushCoordinate, movedPieceCode, BitBoard.EMPTY, moveList);
+                        }
+                    } else if (includeQuiet) {
+                        moveList.add(MoveEncoding.encode(currentCoordinate, pushCoordinate, MoveEncoding.QUIET_MOVE,
+                                movedPieceCode, BitBoard.EMPTY));
+                    }
+                }
+                final int jumpCoordinate = pushCoordinate + forwardOffset;
+                if (includeQuiet && BitBoardUtils.rowOf(currentCoordinate) == startRow &&
+                    !bitBoard.isOccupied(jumpCoordinate) &&
+                    (legalDestinations & BitBoardUtils.squareBit(jumpCoordinate)) != 0) {
+                    moveList.add(MoveEncoding.encode(currentCoordinate, jumpCoordinate,
+                            MoveEncoding.DOUBLE_PAWN_PUSH, movedPieceCode, BitBoard.EMPTY));
+                }
+            }
+            if (!includeNoisy) {
+                continue;
+            }
+            final long attacks = BitBoardUtils.PAWN_ATTACKS[alliance.ordinal()][currentCoordinate];
+            long captures = attacks & enemies & legalDestinations;
+            while (captures != 0) {
+                final int destinationCoordinate = Long.numberOfTrailingZeros(captures);
+                captures &= captures - 1;
+                final int capturedPieceCode = bitBoard.getPieceCode(destinationCoordinate);
+                if (alliance.isPawnPromotionSquare(destinationCoordinate)) {
+                    addPromotions(currentCoordinate, destinationCoordinate, movedPieceCode, capturedPieceCode, moveList);
+                } else {
+                    moveList.add(MoveEncoding.encode(currentCoordinate, destinationCoordinate, MoveEncoding.CAPTURE,
+                            movedPieceCode, capturedPieceCode));
+                }
+            }
+            if (enPassantSquare != BitBoard.NO_SQUARE && (attacks & BitBoardUtils.squareBit(enPassantSquare)) != 0 &&
+                isLegalEnPassant(bitBoard, alliance, kingCoordinate, currentCoordinate, enPassantSquare)) {
+                moveList.add(MoveEncoding.encode(currentCoordinate, enPassantSquare, MoveEncoding.EN_PASSANT_CAPTURE,
+                        movedPieceCode, BitBoard.pieceCode(PieceType.PAWN, alliance.getOpponent())));
+            }
+        }
+    }
+
+    private static int countPawnMoves(final BitBoard bitBoard,
+                                      final Alliance alliance,
+                                      final int kingCoordinate,
+                                      final long checkMask,
+                                      final long pinnedPieces,
+                                      final long fromMask) {
+        final int forwardOffset = alliance.getDirection() * BoardUtils.NUM_TILES_PER_ROW;
+        final int startRow = alliance.isWhite() ? 6 : 1;
+        final long enemies = bitBoard.getOccupancy(alliance.getOpponent());
+        final int enPassantSquare = bitBoard.getSideToMove() == alliance ?
+                bitBoard.getEnPassantSquare() : BitBoard.NO_SQUARE;
+        int count = 0;
+        long pawns = bitBoard.getPieces(PieceType.PAWN, alliance) & fromMask;
+        while (pawns != 0) {
+            final int currentCoordinate = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            final long legalDestinations = legalDestinationMask(currentCoordinate, kingCoordinate, checkMask, pinnedPieces);
+            //a pawn on the row before promotion turns every move into four
+            final int pushCoordinate = currentCoordinate + forwardOffset;
+            final int movesPerDestination = BoardUtils.isValidTileCoordinate(pushCoordinate) &&
+                    alliance.isPawnPromotionSquare(pushCoordinate) ? PROMOTION_TYPES.length : 1;
+            if (BoardUtils.isValidTileCoordinate(pushCoordinate) && !bitBoard.isOccupied(pushCoordinate)) {
+                if ((legalDestinations & BitBoardUtils.squareBit(pushCoordinate)) != 0) {
+                    count += movesPerDestination;
+                }
+                final int jumpCoordinate = pushCoordinate + forwardOffset;
+                if (BitBoardUtils.rowOf(currentCoordinate) == startRow && !bitBoard.isOccupied(jumpCoordinate) &&
+                    (legalDestinations & BitBoardUtils.squareBit(jumpCoordinate)) != 0) {
+                    count++;
+                }
+            }
+            final long attacks = BitBoardUtils.PAWN_ATTACKS[alliance.ordinal()][currentCoordinate];
+            count += Long.bitCount(attacks & enemies & legalDestinations) * movesPerDestination;
+            if (enPassantSquare != BitBoard.NO_SQUARE && (attacks & BitBoardUtils.squareBit(enPassantSquare)) != 0 &&
+                isLegalEnPassant(bitBoard, alliance, kingCoordinate, currentCoordinate, enPassantSquare)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    //en passant clears two tiles of one row at once, so check the resulting occupancy directly
+    private static boolean isLegalEnPassant(final BitBoard bitBoard,
+                                            final Alliance alliance,
+                                            final int kingCoordinate,
+                                            final int currentCoordinate,
+                                            final int enPassantSquare) {
+        final long capturedPawn = BitBoardUtils.squareBit((currentCoordinate & ~7) | (enPassantSquare & 7));
+        final long occupied = (bitBoard.getOccupied() & ~BitBoardUtils.squareBit(currentCoordinate) & ~capturedPawn) |
+                              BitBoardUtils.squareBit(enPassantSquare);
+        return (bitBoard.attackersOf(kingCoordinate, alliance.getOpponent(), occupied) & ~capturedPawn) == 0;
+    }
+
+    private static void addPromotions(final int currentCoordinate,
+                                      final int destinationCoordinate,
+                                      final int movedPieceCode,
+                                      final int capturedPieceCode,
+                                      final MoveList moveList) {
+        for (final PieceType promotionType : PROMOTION_TYPES) {
+            moveList.add(MoveEncoding.encode(currentCoordinate, destinationCoordinate,
+                    MoveEncoding.promotionFlags(promotionType, capturedPieceCode != BitBoard.EMPTY),
+                    movedPieceCode, capturedPieceCode));
+        }
+    }
+
+    private static void generateCastleMoves(final BitBoard bitBoard,
+                                            final Alliance alliance,
+                                            final int kingCoordinate,
+                                            final long occupied,
+                                            final MoveList moveList) {
+        final int movedPieceCode = BitBoard.pieceCode(PieceType.KING, alliance);
+        if (canCastleKingSide(bitBoard, alliance, kingCoordinate, occupied)) {
+            moveList.add(MoveEncoding.encode(kingCoordinate, kingCoordinate + 2, MoveEncoding.KING_CASTLE,
+                    movedPieceCode, BitBoard.EMPTY));
+        }
+        if (canCastleQueenSide(bitBoard, alliance, kingCoordinate, occupied)) {
+            moveList.add(MoveEncoding.encode(kingCoordinate, kingCoordinate - 2, MoveEncoding.QUEEN_CASTLE,
+                    movedPieceCode, BitBoard.EMPTY));
+        }
+    }
+
+    private static boolean canCastleKingSide(final BitBoard bitBoard,
+                                             final Alliance alliance,
+                                             final int kingCoordinate,
+                                             final long occupied) {
+        final Alliance opponent = alliance.getOpponent();
+        return (bitBoard.getCastleRights() & (alliance.isWhite() ?
+                BitBoard.WHITE_KING_SIDE_CASTLE : BitBoard.BLACK_KING_SIDE_CASTLE)) != 0 &&
+               !bitBoard.isOccupied(kingCoordinate + 1) && !bitBoard.isOccupied(kingCoordinate + 2) &&
+               bitBoard.attackersOf(kingCoordinate + 1, opponent, occupied) == 0 &&
+               bitBoard.attackersOf(kingCoordinate + 2, opponent, occupied) == 0;
+    }
+
+    private static boolean canCastleQueenSide(final BitBoard bitBoard,
+                                              final Alliance alliance,
+                                              final int kingCoordinate,
+                                              final long occupied) {
+        final Alliance opponent = alliance.getOpponent();
+        return (bitBoard.getCastleRights() & (alliance.isWhite() ?
+                BitBoard.WHITE_QUEEN_SIDE_CASTLE : BitBoard.BLACK_QUEEN_SIDE_CASTLE)) != 0 &&
+               !bitBoard.isOccupied(kingCoordinate - 1) && !bitBoard.isOccupied(kingCoordinate - 2) &&
+               !bitBoard.isOccupied(kingCoordinate - 3) &&
+               bitBoard.attackersOf(kingCoordinate - 1, opponent, occupied) == 0 &&
+               bitBoard.attackersOf(kingCoordinate - 2, opponent, occupied) == 0;
+    }
+
+}
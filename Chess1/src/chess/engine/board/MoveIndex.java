@@ -0,0 +1,79 @@
+package chess.engine.board;
+
+import java.util.Collection;
+
+//open addressing table over one side's legal moves, keyed by from/to; promotions are also keyed by their piece
+final class MoveIndex {
+
+    private static final int FROM_TO_MASK = 0xFFF;
+    private static final int EMPTY_KEY = 0;
+
+    private final int[] keys;
+    private final Move[] moves;
+    private final int mask;
+
+    MoveIndex(final Collection<Move> legalMoves) {
+        //at most half full so probe chains stay short
+        final int capacity = Integer.highestOneBit(Math.max(legalMoves.size(), 8) * 4 - 1);
+        this.keys = new int[capacity];
+        this.moves = new Move[capacity];
+        this.mask = capacity - 1;
+        for (final Move move : legalMoves) {
+            final int encodedMove = move.getEncodedMove();
+            //the first move on a from/to pair wins, as the old linear scan did
+            insert(encodedMove & FROM_TO_MASK, move);
+            if (MoveEncoding.isPromotion(encodedMove)) {
+                insert(promotionKey(encodedMove), move);
+            }
+        }
+    }
+
+    Move get(final int currentCoordinate,
+             final int destinationCoordinate) {
+        return find(currentCoordinate | (destinationCoordinate << 6));
+    }
+
+    boolean contains(final Move move) {
+        final int encodedMove = move.getEncodedMove();
+        if (encodedMove == MoveEncoding.NULL_MOVE) {
+            return false;
+        }
+        final Move candidate = find(MoveEncoding.isPromotion(encodedMove) ?
+                promotionKey(encodedMove) : encodedMove & FROM_TO_MASK);
+        return candidate != null && (candidate == move || candidate.equals(move));
+    }
+
+    private static int promotionKey(final int encodedMove) {
+        //the promotion flags keep these keys apart from the plain from/to keys
+        return MoveEncoding.toShortMove(encodedMove) & ~(MoveEncoding.CAPTURE << 12);
+    }
+
+    private void insert(final int key,
+                        final Move move) {
+        int slot = index(key);
+        while (this.keys[slot] != EMPTY_KEY) {
+            if (this.keys[slot] == key) {
+                return;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = key;
+        this.moves[slot] = move;
+    }
+
+    private Move find(final int key) {
+        int slot = index(key);
+        while (this.keys[slot] != EMPTY_KEY) {
+            if (this.keys[slot] == key) {
+                return this.moves[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return null;
+    }
+
+    private int index(final int key) {
+        return (key * 0x9E3779B1) >>> 16 & this.mask;
+    }
+
+}
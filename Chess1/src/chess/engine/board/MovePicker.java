@@ -0,0 +1,202 @@
+package chess.engine.board;
+
+import chess.engine.Alliance;
+
+//hands out legal moves stage by stage so a cutoff never pays for the stages after it
+public final class MovePicker {
+
+    public enum Stage {
+        HASH_MOVE,
+        CAPTURES,
+        KILLERS,
+        QUIETS,
+        DONE
+    }
+
+    private static final int[] NO_KILLERS = {};
+
+    private final BitBoard bitBoard;
+    private final MoveList moveList;
+    private final MoveList scratchList;
+    private int[] scores;
+    private Alliance alliance;
+    private int hashMove;
+    private int[] killers;
+    private Stage stage;
+    private int index;
+    private boolean isGenerated;
+    private boolean isNoisyOnly;
+    //butterfly history of the side to move, [from][to]; quiets keep generation order without one
+    private int[][] history;
+
+    public MovePicker(final BitBoard bitBoard,
+                      final Alliance alliance,
+                      final int hashMove,
+                      final int... killers) {
+        this(bitBoard);
+        reset(alliance, hashMove, killers);
+    }
+
+    //a picker can be reused across nodes so a search does not allocate move lists per node
+    public MovePicker(final BitBoard bitBoard) {
+        this.bitBoard = bitBoard;
+        this.moveList = new MoveList();
+        this.scratchList = new MoveList();
+        this.scores = new int[0];
+        this.alliance = bitBoard.getSideToMove();
+        this.hashMove = MoveEncoding.NULL_MOVE;
+        this.killers = NO_KILLERS;
+        this.stage = Stage.DONE;
+    }
+
+    public MovePicker reset(final Alliance alliance,
+                            final int hashMove,
+                            final int... killers) {
+        this.alliance = alliance;
+        this.hashMove = hashMove;
+        this.killers = killers != null ? killers : NO_KILLERS;
+        this.stage = Stage.HASH_MOVE;
+        this.index = 0;
+        this.isGenerated = false;
+        this.isNoisyOnly = false;
+        return this;
+    }
+
+    //captures and promotions only, best victim first, for the quiescence search
+    public MovePicker resetNoisy(final Alliance alliance) {
+        reset(alliance, MoveEncoding.NULL_MOVE);
+        this.stage = Stage.CAPTURES;
+        this.isNoisyOnly = true;
+        return this;
+    }
+
+    public MovePicker setHistory(final int[][] history) {
+        this.history = history;
+        return this;
+    }
+
+    public Stage getStage() {
+        return this.stage;
+    }
+
+    //returns MoveEncoding.NULL_MOVE once every legal move has been handed out
+    public int nextMove() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = Stage.CAPTURES;
+                    if (MoveGenerator.isLegalMove(this.bitBoard, this.alliance, this.hashMove, this.scratchList)) {
+                        return this.hashMove;
+                    }
+                    break;
+                case CAPTURES:
+                    if (!this.isGenerated) {
+                        generateCaptures();
+                    }
+                    if (this.index < this.moveList.size()) {
+                        final int move = pickBest();
+                        if (move != this.hashMove) {
+                            return move;
+                        }
+                        break;
+                    }
+                    this.stage = this.isNoisyOnly ? Stage.DONE : Stage.KILLERS;
+                    this.index = 0;
+                    break;
+                case KILLERS:
+                    if (this.index < this.killers.length) {
+                        final int killer = this.killers[this.index++];
+                        if (isFreshKiller(killer, this.index - 1) &&
+                            MoveGenerator.isLegalMove(this.bitBoard, this.alliance, killer, this.scratchList)) {
+                            return killer;
+                        }
+                        break;
+                    }
+                    startQuiets();
+                    break;
+                case QUIETS:
+                    if (this.index < this.moveList.size()) {
+                        final int move = this.history != null ? pickBest() : this.moveList.get(this.index++);
+                        if (move != this.hashMove && !isKiller(move)) {
+                            return move;
+                        }
+                        break;
+                    }
+                    this.stage = Stage.DONE;
+                    break;
+                default:
+                    return MoveEncoding.NULL_MOVE;
+            }
+        }
+    }
+
+    private void generateCaptures() {
+        this.isGenerated = true;
+        this.moveList.clear();
+        MoveGenerator.generateLegalMoves(this.bitBoard, this.alliance, MoveGenerator.NOISY_MOVES, this.moveList);
+        ensureScoreCapacity();
+        for (int i = 0; i < this.moveList.size(); i++) {
+            this.scores[i] = BoardUtils.mvvlva(this.moveList.get(i));
+        }
+    }
+
+    private void startQuiets() {
+        this.stage = Stage.QUIETS;
+        this.index = 0;
+        this.moveList.clear();
+        MoveGenerator.generateLegalMoves(this.bitBoard, this.alliance, MoveGenerator.QUIET_MOVES, this.moveList);
+        if (this.history != null) {
+            ensureScoreCapacity();
+            for (int i = 0; i < this.moveList.size(); i++) {
+                final int move = this.moveList.get(i);
+                this.scores[i] = this.history[MoveEncoding.getCurrentCoordinate(move)]
+                                             [MoveEncoding.getDestinationCoordinate(move)];
+            }
+        }
+    }
+
+    private void ensureScoreCapacity() {
+        if (this.scores.length < this.moveList.size()) {
+            this.scores = new int[this.moveList.size()];
+        }
+    }
+
+    //one selection step per call: most nodes never look past the first few moves of a stage
+    private int pickBest() {
+        int best = this.index;
+        for (int i = this.index + 1; i < this.moveList.size(); i++) {
+            if (this.scores[i] > this.scores[best]) {
+                best = i;
+            }
+        }
+        this.moveList.swap(this.index, best);
+        final int score = this.scores[this.index];
+        this.scores[this.index] = this.scores[best];
+        this.scores[best] = score;
+        return this.moveList.get(this.index++);
+    }
+
+    //noisy killers were already handed out with the captures
+    private boolean isFreshKiller(final int killer,
+                                  final int killerIndex) {
+        if (killer == MoveEncoding.NULL_MOVE || killer == this.hashMove || MoveGenerator.isNoisyMove(killer)) {
+            return false;
+        }
+        for (int i = 0; i < killerIndex; i++) {
+            if (this.killers[i] == killer) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isKiller(final int move) {
+        for (final int killer : this.killers) {
+            if (killer == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
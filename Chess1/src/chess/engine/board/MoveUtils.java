@@ -1,10 +1,9 @@
 package chess.engine.board;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import chess.engine.Alliance;
 import chess.engine.board.Move.MoveFactory;
 import chess.engine.board.Move.NullMove;
+import chess.engine.pieces.Piece.PieceType;
 
 public enum MoveUtils {
 
@@ -12,33 +11,90 @@ public enum MoveUtils {
 
     public static final Move NULL_MOVE = new NullMove();
 
+    //longest possible capture sequence on one square: every piece of both sides
+    public static final int MAX_EXCHANGES = 32;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
     public static int exchangeScore(final Move move) {
-        if(move == MoveFactory.getNullMove()) {
-            return 1;
+        if (move == MoveFactory.getNullMove()) {
+            return 0;
         }
-        return move.isAttack() ?
-                5 * exchangeScore(move.getBoard().getTransitionMove()) :
-                exchangeScore(move.getBoard().getTransitionMove());
-
+        return exchangeScore(move.getBoard().getBitBoard(), move.getEncodedMove());
     }
 
-    public static class Line {
-        private final List<Integer> coordinates;
+    //static exchange evaluation: the material the moving side ends up with once both sides have traded
+    //on the destination square with their least valuable attackers, each stopping when it pays to
+    public static int exchangeScore(final BitBoard bitBoard,
+                                    final int encodedMove) {
+        return exchangeScore(bitBoard, encodedMove, new int[MAX_EXCHANGES]);
+    }
 
-        public Line() {
-            this.coordinates = new ArrayList<>();
+    //gain is scratch space of MAX_EXCHANGES entries, so a search can evaluate captures without allocating
+    public static int exchangeScore(final BitBoard bitBoard,
+                                    final int encodedMove,
+                                    final int[] gain) {
+        final int from = MoveEncoding.getCurrentCoordinate(encodedMove);
+        final int to = MoveEncoding.getDestinationCoordinate(encodedMove);
+        final int flags = MoveEncoding.getFlags(encodedMove);
+        long occupied = bitBoard.getOccupied() ^ BitBoardUtils.squareBit(from);
+        int victimValue = BitBoard.pieceTypeOf(MoveEncoding.getMovedPieceCode(encodedMove)).getPieceValue();
+        if (flags == MoveEncoding.EN_PASSANT_CAPTURE) {
+            gain[0] = PieceType.PAWN.getPieceValue();
+            //the captured pawn stands beside the destination, on the mover's row
+            occupied ^= BitBoardUtils.squareBit((from & ~7) | (to & 7));
+        } else if (MoveEncoding.isCapture(encodedMove)) {
+            gain[0] = BitBoard.pieceTypeOf(MoveEncoding.getCapturedPieceCode(encodedMove)).getPieceValue();
+        } else {
+            gain[0] = 0;
         }
-
-        public void addCoordinate(int coordinate) {
-            this.coordinates.add(coordinate);
+        if (MoveEncoding.isPromotion(encodedMove)) {
+            victimValue = MoveEncoding.getPromotionType(encodedMove).getPieceValue();
+            gain[0] += victimValue - PieceType.PAWN.getPieceValue();
         }
-
-        public List<Integer> getLineCoordinates() {
-            return this.coordinates;
+        Alliance side = BitBoard.allianceOf(MoveEncoding.getMovedPieceCode(encodedMove)).getOpponent();
+        long attackers = allAttackers(bitBoard, to, occupied);
+        int depth = 0;
+        while (depth + 1 < MAX_EXCHANGES) {
+            final long sideAttackers = attackers & bitBoard.getOccupancy(side);
+            if (sideAttackers == 0) {
+                break;
+            }
+            final PieceType attackerType = leastValuableType(bitBoard, sideAttackers, side);
+            //the king can only take last
+            if (attackerType == PieceType.KING && (attackers & bitBoard.getOccupancy(side.getOpponent())) != 0) {
+                break;
+            }
+            depth++;
+            gain[depth] = victimValue - gain[depth - 1];
+            victimValue = attackerType.getPieceValue();
+            occupied ^= Long.lowestOneBit(sideAttackers & bitBoard.getPieces(attackerType, side));
+            //removing an attacker may uncover a slider behind it
+            attackers = allAttackers(bitBoard, to, occupied);
+            side = side.getOpponent();
         }
+        //each side may stop capturing whenever going on would cost it material
+        for (int i = depth; i > 0; i--) {
+            gain[i - 1] = -Math.max(-gain[i - 1], gain[i]);
+        }
+        return gain[0];
+    }
 
-        public boolean isEmpty() {
-            return this.coordinates.isEmpty();
+    private static long allAttackers(final BitBoard bitBoard,
+                                     final int square,
+                                     final long occupied) {
+        return (bitBoard.attackersOf(square, Alliance.WHITE, occupied) |
+                bitBoard.attackersOf(square, Alliance.BLACK, occupied)) & occupied;
+    }
+
+    private static PieceType leastValuableType(final BitBoard bitBoard,
+                                               final long attackers,
+                                               final Alliance alliance) {
+        for (final PieceType pieceType : PIECE_TYPES) {
+            if ((attackers & bitBoard.getPieces(pieceType, alliance)) != 0) {
+                return pieceType;
+            }
         }
+        throw new RuntimeException("No attacker of " + alliance);
     }
+
 }
@@ -0,0 +1,317 @@
+package chess.engine.board;
+
+import java.util.Arrays;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Bishop;
+import chess.engine.pieces.King;
+import chess.engine.pieces.Knight;
+import chess.engine.pieces.Pawn;
+import chess.engine.pieces.Piece;
+import chess.engine.pieces.Piece.PieceType;
+import chess.engine.pieces.Queen;
+import chess.engine.pieces.Rook;
+
+public final class MutableBoard {
+
+    private static final int INITIAL_UNDO_CAPACITY = 256;
+
+    private final BitBoard bitBoard;
+    private int castledAlliances;
+    private int[] undoMoves;
+    private int[] undoCapturedPieces;
+    private int[] undoCastleRights;
+    private int[] undoEnPassantSquares;
+    private long[] undoZobristKeys;
+    private int[] undoReversiblePlies;
+    private int undoSize;
+    private long zobristKey;
+    //keys of the game's positions before the one this board was built from, newest first
+    private final long[] gameZobristKeys;
+    //plies since the last capture, pawn move or null move, the only stretch a position can repeat in
+    private int reversiblePlies;
+    //the move that led to the position this board was built from
+    private final int rootTransitionMove;
+
+    public MutableBoard(final Board board) {
+        this.bitBoard = new BitBoard(board.getBitBoard());
+        this.castledAlliances = castledFlag(board.whitePlayer().isCastled(), Alliance.WHITE) |
+                                castledFlag(board.blackPlayer().isCastled(), Alliance.BLACK);
+        this.undoMoves = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCapturedPieces = new int[INITIAL_UNDO_CAPACITY];
+        this.undoCastleRights = new int[INITIAL_UNDO_CAPACITY];
+        this.undoEnPassantSquares = new int[INITIAL_UNDO_CAPACITY];
+        this.undoZobristKeys = new long[INITIAL_UNDO_CAPACITY];
+        this.undoReversiblePlies = new int[INITIAL_UNDO_CAPACITY];
+        this.undoSize = 0;
+        this.zobristKey = board.getZobristKey();
+        this.gameZobristKeys = gameZobristKeys(board);
+        this.reversiblePlies = this.gameZobristKeys.length;
+        this.rootTransitionMove = board.getTransitionMove().getEncodedMove();
+    }
+
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    public Alliance getSideToMove() {
+        return this.bitBoard.sideToMove;
+    }
+
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    public int getUndoDepth() {
+        return this.undoSize;
+    }
+
+    //the move that led to the current position, NULL_MOVE if unknown
+    public int getLastMove() {
+        return this.undoSize > 0 ? this.undoMoves[this.undoSize - 1] : this.rootTransitionMove;
+    }
+
+    public void makeMove(final Move move) {
+        if (move == MoveUtils.NULL_MOVE) {
+            throw new RuntimeException("cannot execute null move!");
+        }
+        makeMove(move.getEncodedMove());
+    }
+
+    public void generateMoves(final MoveList moveList) {
+        MoveGenerator.generateLegalMoves(this.bitBoard, this.bitBoard.sideToMove, moveList);
+    }
+
+    public boolean isInCheck(final Alliance alliance) {
+        return this.bitBoard.isInCheck(alliance);
+    }
+
+    //true if the position already occurred in the search or in the game before it; only positions
+    //with the same side to move can repeat
+    public boolean isRepetition() {
+        for (int plies = 2; plies <= this.reversiblePlies; plies += 2) {
+            final int index = this.undoSize - plies;
+            final long key = index >= 0 ? this.undoZobristKeys[index] : this.gameZobristKeys[-index - 1];
+            if (key == this.zobristKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //passes the turn without moving, for null move pruning; undone by unmakeMove
+    public void makeNullMove() {
+        ensureUndoCapacity();
+        final BitBoard bitBoard = this.bitBoard;
+        this.undoMoves[this.undoSize] = MoveEncoding.NULL_MOVE;
+        this.undoCapturedPieces[this.undoSize] = BitBoard.EMPTY;
+        this.undoCastleRights[this.undoSize] = bitBoard.castleRights;
+        this.undoEnPassantSquares[this.undoSize] = bitBoard.enPassantSquare;
+        this.undoZobristKeys[this.undoSize] = this.zobristKey;
+        this.undoReversiblePlies[this.undoSize] = this.reversiblePlies;
+        this.undoSize++;
+        //no position repeats across a pass
+        this.reversiblePlies = 0;
+        final long key = this.zobristKey ^ Zobrist.sideToMoveKey() ^
+                         Zobrist.enPassantKey(bitBoard.enPassantSquare, bitBoard.sideToMove,
+                                 bitBoard.getPieces(PieceType.PAWN, bitBoard.sideToMove));
+        bitBoard.enPassantSquare = BitBoard.NO_SQUARE;
+        bitBoard.sideToMove = bitBoard.sideToMove.getOpponent();
+        this.zobristKey = key;
+    }
+
+    public void unmakeMove() {
+        if (this.undoSize == 0) {
+            throw new RuntimeException("no move to unmake!");
+        }
+        this.undoSize--;
+        this.reversiblePlies = this.undoReversiblePlies[this.undoSize];
+        final int encodedMove = this.undoMoves[this.undoSize];
+        if (encodedMove == MoveEncoding.NULL_MOVE) {
+            this.bitBoard.enPassantSquare = this.undoEnPassantSquares[this.undoSize];
+            this.bitBoard.sideToMove = this.bitBoard.sideToMove.getOpponent();
+            this.zobristKey = this.undoZobristKeys[this.undoSize];
+            return;
+        }
+        final int currentCoordinate = MoveEncoding.getCurrentCoordinate(encodedMove);
+        final int destinationCoordinate = MoveEncoding.getDestinationCoordinate(encodedMove);
+        final int flags = MoveEncoding.getFlags(encodedMove);
+        final BitBoard bitBoard = this.bitBoard;
+        final Alliance mover = bitBoard.sideToMove.getOpponent();
+        final int movedPieceCode = MoveEncoding.isPromotion(encodedMove) ?
+                BitBoard.pieceCode(PieceType.PAWN, mover) : bitBoard.pieceCodes[destinationCoordinate];
+        bitBoard.removePiece(destinationCoordinate);
+        bitBoard.addPiece(movedPieceCode, currentCoordinate);
+        final int capturedPieceCode = this.undoCapturedPieces[this.undoSize];
+        if (capturedPieceCode != BitBoard.EMPTY) {
+            bitBoard.addPiece(capturedPieceCode, flags == MoveEncoding.EN_PASSANT_CAPTURE ?
+                    enPassantVictimCoordinate(currentCoordinate, destinationCoordinate) : destinationCoordinate);
+        }
+        if (flags == MoveEncoding.KING_CASTLE || flags == MoveEncoding.QUEEN_CASTLE) {
+            bitBoard.addPiece(bitBoard.removePiece(castleRookDestination(destinationCoordinate, flags)),
+                    castleRookStart(destinationCoordinate, flags));
+            this.castledAlliances &= ~(1 << mover.ordinal());
+        }
+        bitBoard.castleRights = this.undoCastleRights[this.undoSize];
+        bitBoard.enPassantSquare = this.undoEnPassantSquares[this.undoSize];
+        bitBoard.sideToMove = mover;
+        this.zobristKey = this.undoZobristKeys[this.undoSize];
+    }
+
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        final BitBoard bitBoard = this.bitBoard;
+        Pawn enPassantPawn = null;
+        final int enPassantPawnCoordinate = bitBoard.enPassantSquare == BitBoard.NO_SQUARE ? BitBoard.NO_SQUARE :
+                bitBoard.enPassantSquare - (bitBoard.sideToMove.getDirection() * BoardUtils.NUM_TILES_PER_ROW);
+        long occupied = bitBoard.getOccupied();
+        while (occupied != 0) {
+            final int coordinate = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            final Piece piece = createPiece(bitBoard.pieceCodes[coordinate], coordinate);
+            if (coordinate == enPassantPawnCoordinate && piece instanceof Pawn) {
+                enPassantPawn = (Pawn) piece;
+            }
+            builder.setPiece(piece);
+        }
+        builder.setEnPassantPawn(enPassantPawn);
+        builder.setMoveMaker(bitBoard.sideToMove);
+        return builder.build();
+    }
+
+    public void makeMove(final int encodedMove) {
+        ensureUndoCapacity();
+        final BitBoard bitBoard = this.bitBoard;
+        final int currentCoordinate = MoveEncoding.getCurrentCoordinate(encodedMove);
+        final int destinationCoordinate = MoveEncoding.getDestinationCoordinate(encodedMove);
+        final int flags = MoveEncoding.getFlags(encodedMove);
+        this.undoMoves[this.undoSize] = encodedMove;
+        this.undoCastleRights[this.undoSize] = bitBoard.castleRights;
+        this.undoEnPassantSquares[this.undoSize] = bitBoard.enPassantSquare;
+        this.undoZobristKeys[this.undoSize] = this.zobristKey;
+        this.undoReversiblePlies[this.undoSize] = this.reversiblePlies;
+        long key = this.zobristKey ^ Zobrist.sideToMoveKey() ^ Zobrist.castleRightsKey(bitBoard.castleRights) ^
+                   Zobrist.enPassantKey(bitBoard.enPassantSquare, bitBoard.sideToMove,
+                           bitBoard.getPieces(PieceType.PAWN, bitBoard.sideToMove));
+        final int movedPieceCode = bitBoard.removePiece(currentCoordinate);
+        key ^= Zobrist.pieceKey(movedPieceCode, currentCoordinate);
+        final int capturedCoordinate = flags == MoveEncoding.EN_PASSANT_CAPTURE ?
+                enPassantVictimCoordinate(currentCoordinate, destinationCoordinate) : destinationCoordinate;
+        final int capturedPieceCode = bitBoard.removePiece(capturedCoordinate);
+        if (capturedPieceCode != BitBoard.EMPTY) {
+            key ^= Zobrist.pieceKey(capturedPieceCode, capturedCoordinate);
+        }
+        this.undoCapturedPieces[this.undoSize] = capturedPieceCode;
+        this.undoSize++;
+        this.reversiblePlies = capturedPieceCode != BitBoard.EMPTY ||
+                BitBoard.pieceTypeOf(movedPieceCode) == PieceType.PAWN ? 0 : this.reversiblePlies + 1;
+        final int placedPieceCode = MoveEncoding.isPromotion(encodedMove) ?
+                BitBoard.pieceCode(MoveEncoding.getPromotionType(encodedMove), bitBoard.sideToMove) : movedPieceCode;
+        bitBoard.addPiece(placedPieceCode, destinationCoordinate);
+        key ^= Zobrist.pieceKey(placedPieceCode, destinationCoordinate);
+        if (flags == MoveEncoding.KING_CASTLE || flags == MoveEncoding.QUEEN_CASTLE) {
+            final int rookStart = castleRookStart(destinationCoordinate, flags);
+            final int rookDestination = castleRookDestination(destinationCoordinate, flags);
+            final int rookCode = bitBoard.removePiece(rookStart);
+            bitBoard.addPiece(rookCode, rookDestination);
+            key ^= Zobrist.pieceKey(rookCode, rookStart) ^ Zobrist.pieceKey(rookCode, rookDestination);
+            this.castledAlliances |= 1 << bitBoard.sideToMove.ordinal();
+        }
+        bitBoard.castleRights = BitBoard.updateCastleRights(bitBoard.castleRights, currentCoordinate, destinationCoordinate);
+        bitBoard.enPassantSquare = flags == MoveEncoding.DOUBLE_PAWN_PUSH ?
+                (currentCoordinate + destinationCoordinate) / 2 : BitBoard.NO_SQUARE;
+        bitBoard.sideToMove = bitBoard.sideToMove.getOpponent();
+        this.zobristKey = key ^ Zobrist.castleRightsKey(bitBoard.castleRights) ^
+                          Zobrist.enPassantKey(bitBoard.enPassantSquare, bitBoard.sideToMove,
+                                  bitBoard.getPieces(PieceType.PAWN, bitBoard.sideToMove));
+    }
+
+    private void ensureUndoCapacity() {
+        if (this.undoSize == this.undoMoves.length) {
+            final int capacity = this.undoMoves.length * 2;
+            this.undoMoves = Arrays.copyOf(this.undoMoves, capacity);
+            this.undoCapturedPieces = Arrays.copyOf(this.undoCapturedPieces, capacity);
+            this.undoCastleRights = Arrays.copyOf(this.undoCastleRights, capacity);
+            this.undoEnPassantSquares = Arrays.copyOf(this.undoEnPassantSquares, capacity);
+            this.undoZobristKeys = Arrays.copyOf(this.undoZobristKeys, capacity);
+            this.undoReversiblePlies = Arrays.copyOf(this.undoReversiblePlies, capacity);
+        }
+    }
+
+    //follows the moves that led to the board back to the last capture or pawn move
+    private static long[] gameZobristKeys(final Board board) {
+        long[] keys = new long[16];
+        int count = 0;
+        Move move = board.getTransitionMove();
+        while (move.getEncodedMove() != MoveEncoding.NULL_MOVE && !move.isAttack() &&
+               move.getMovedPiece().getPieceType() != PieceType.PAWN) {
+            if (count == keys.length) {
+                keys = Arrays.copyOf(keys, count * 2);
+            }
+            keys[count++] = move.getBoard().getZobristKey();
+            move = move.getBoard().getTransitionMove();
+        }
+        return Arrays.copyOf(keys, count);
+    }
+
+    private Piece createPiece(final int pieceCode,
+                              final int coordinate) {
+        final Alliance alliance = BitBoard.allianceOf(pieceCode);
+        final int castleRights = this.bitBoard.castleRights;
+        switch (BitBoard.pieceTypeOf(pieceCode)) {
+            case PAWN:
+                return new Pawn(alliance, coordinate, alliance.isWhite() ?
+                        BoardUtils.INSTANCE.SEVENTH_ROW.get(coordinate) : BoardUtils.INSTANCE.SECOND_ROW.get(coordinate));
+            case KNIGHT:
+                return new Knight(alliance, coordinate, false);
+            case BISHOP:
+                return new Bishop(alliance, coordinate, false);
+            case ROOK:
+                return new Rook(alliance, coordinate, isCastleRookCoordinate(coordinate, castleRights));
+            case QUEEN:
+                return new Queen(alliance, coordinate, false);
+            case KING:
+                final boolean kingSideCastleCapable = (castleRights & (alliance.isWhite() ?
+                        BitBoard.WHITE_KING_SIDE_CASTLE : BitBoard.BLACK_KING_SIDE_CASTLE)) != 0;
+                final boolean queenSideCastleCapable = (castleRights & (alliance.isWhite() ?
+                        BitBoard.WHITE_QUEEN_SIDE_CASTLE : BitBoard.BLACK_QUEEN_SIDE_CASTLE)) != 0;
+                return new King(alliance, coordinate, kingSideCastleCapable || queenSideCastleCapable,
+                        (this.castledAlliances & (1 << alliance.ordinal())) != 0,
+                        kingSideCastleCapable, queenSideCastleCapable);
+            default:
+                throw new RuntimeException("Should not reach here!");
+        }
+    }
+
+    private static boolean isCastleRookCoordinate(final int coordinate,
+                                                  final int castleRights) {
+        switch (coordinate) {
+            case 63: return (castleRights & BitBoard.WHITE_KING_SIDE_CASTLE) != 0;
+            case 56: return (castleRights & BitBoard.WHITE_QUEEN_SIDE_CASTLE) != 0;
+            case 7: return (castleRights & BitBoard.BLACK_KING_SIDE_CASTLE) != 0;
+            case 0: return (castleRights & BitBoard.BLACK_QUEEN_SIDE_CASTLE) != 0;
+            default: return false;
+        }
+    }
+
+    private static int enPassantVictimCoordinate(final int currentCoordinate,
+                                                 final int destinationCoordinate) {
+        return (currentCoordinate & ~7) | (destinationCoordinate & 7);
+    }
+
+    private static int castleRookStart(final int kingDestination,
+                                       final int flags) {
+        return flags == MoveEncoding.KING_CASTLE ? kingDestination + 1 : kingDestination - 2;
+    }
+
+    private static int castleRookDestination(final int kingDestination,
+                                             final int flags) {
+        return flags == MoveEncoding.KING_CASTLE ? kingDestination - 1 : kingDestination + 1;
+    }
+
+    private static int castledFlag(final boolean isCastled,
+                                   final Alliance alliance) {
+        return isCastled ? 1 << alliance.ordinal() : 0;
+    }
+
+}
@@ -0,0 +1,74 @@
+package chess.engine.board;
+
+import java.util.Random;
+
+import chess.engine.Alliance;
+import chess.engine.pieces.Piece.PieceType;
+
+public enum Zobrist {
+
+    INSTANCE;
+
+    private static final long[][] PIECE_KEYS = new long[BitBoard.NUM_PIECE_CODES][BoardUtils.NUM_TILES];
+    private static final long[] CASTLE_RIGHTS_KEYS = new long[16];
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES];
+    private static final long SIDE_TO_MOVE_KEY;
+
+    static {
+        final Random random = new Random(0x5A0B1A5L);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+                pieceKeys[square] = random.nextLong();
+            }
+        }
+        for (int castleRights = 1; castleRights < CASTLE_RIGHTS_KEYS.length; castleRights++) {
+            CASTLE_RIGHTS_KEYS[castleRights] = random.nextLong();
+        }
+        for (int square = 0; square < BoardUtils.NUM_TILES; square++) {
+            EN_PASSANT_KEYS[square] = random.nextLong();
+        }
+        SIDE_TO_MOVE_KEY = random.nextLong();
+    }
+
+    public static long calculateZobristKey(final BitBoard bitBoard) {
+        long key = 0L;
+        long occupied = bitBoard.getOccupied();
+        while (occupied != 0) {
+            final int square = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            key ^= PIECE_KEYS[bitBoard.getPieceCode(square)][square];
+        }
+        key ^= CASTLE_RIGHTS_KEYS[bitBoard.getCastleRights()];
+        key ^= enPassantKey(bitBoard.getEnPassantSquare(), bitBoard.getSideToMove(),
+                bitBoard.getPieces(PieceType.PAWN, bitBoard.getSideToMove()));
+        if (bitBoard.getSideToMove().isBlack()) {
+            key ^= SIDE_TO_MOVE_KEY;
+        }
+        return key;
+    }
+
+    public static long pieceKey(final int pieceCode,
+                                final int square) {
+        return PIECE_KEYS[pieceCode][square];
+    }
+
+    public static long castleRightsKey(final int castleRights) {
+        return CASTLE_RIGHTS_KEYS[castleRights];
+    }
+
+    public static long sideToMoveKey() {
+        return SIDE_TO_MOVE_KEY;
+    }
+
+    //only counts when a pawn of the side to move can actually capture en passant
+    public static long enPassantKey(final int enPassantSquare,
+                                    final Alliance sideToMove,
+                                    final long sideToMovePawns) {
+        if (enPassantSquare == BitBoard.NO_SQUARE) {
+            return 0L;
+        }
+        return (BitBoardUtils.PAWN_ATTACKS[sideToMove.getOpponent().ordinal()][enPassantSquare] & sideToMovePawns) != 0 ?
+                EN_PASSANT_KEYS[enPassantSquare] : 0L;
+    }
+
+}
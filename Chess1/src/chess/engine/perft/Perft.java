@@ -0,0 +1,74 @@
+package chess.engine.perft;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import chess.engine.board.Board;
+import chess.engine.board.Move;
+
+public enum Perft {
+
+    INSTANCE;
+
+    public static long perft(final Board board,
+                             final int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+        if (depth == 1) {
+            return board.currentPlayer().countLegalMoves();
+        }
+        long nodes = 0L;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            nodes += perft(board.currentPlayer().makeMove(move).getToBoard(), depth - 1);
+        }
+        return nodes;
+    }
+
+    public static long perft(final Board board,
+                             final int depth,
+                             final ForkJoinPool pool) {
+        return pool.invoke(new PerftTask(board, depth, null));
+    }
+
+    //depth 1 is just a move count, so only deeper subtrees go through the cache
+    public static long perft(final Board board,
+                             final int depth,
+                             final PerftCache cache) {
+        if (depth <= 1) {
+            return perft(board, depth);
+        }
+        final long cachedNodes = cache.probe(board.getZobristKey(), depth);
+        if (cachedNodes != PerftCache.NOT_FOUND) {
+            return cachedNodes;
+        }
+        long nodes = 0L;
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            nodes += perft(board.currentPlayer().makeMove(move).getToBoard(), depth - 1, cache);
+        }
+        cache.store(board.getZobristKey(), depth, nodes);
+        return nodes;
+    }
+
+    public static long perft(final Board board,
+                             final int depth,
+                             final ForkJoinPool pool,
+                             final PerftCache cache) {
+        return pool.invoke(new PerftTask(board, depth, cache));
+    }
+
+    public static Map<Move, Long> divide(final Board board,
+                                         final int depth) {
+        if (depth < 1) {
+            throw new RuntimeException("divide needs a depth of at least 1");
+        }
+        final Map<Move, Long> divide = new LinkedHashMap<>();
+        for (final Move move : board.currentPlayer().getLegalMoves()) {
+            divide.put(move, perft(board.currentPlayer().makeMove(move).getToBoard(), depth - 1));
+        }
+        return Collections.unmodifiableMap(divide);
+    }
+
+}
@@ -0,0 +1,75 @@
+package chess.engine.perft;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+//fixed size (key, depth) -> node count table shared by all perft threads without locking;
+//each slot holds (key ^ data, data) so a torn write from a racing thread fails verification
+public final class PerftCache {
+
+    public static final long NOT_FOUND = -1L;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int DEPTH_BITS = 8;
+    private static final long DEPTH_MASK = (1L << DEPTH_BITS) - 1;
+
+    private final AtomicLongArray entries;
+    private final int indexMask;
+    private final LongAdder probes;
+    private final LongAdder hits;
+
+    public PerftCache(final int sizeInMegabytes) {
+        if (sizeInMegabytes < 1) {
+            throw new RuntimeException("perft cache needs at least 1 MB");
+        }
+        final long requestedEntries = ((long) sizeInMegabytes << 20) / ENTRY_BYTES;
+        final int entryCount = (int) Long.highestOneBit(Math.min(requestedEntries, 1L << 30));
+        this.entries = new AtomicLongArray(entryCount * 2);
+        this.indexMask = entryCount - 1;
+        this.probes = new LongAdder();
+        this.hits = new LongAdder();
+    }
+
+    public long probe(final long key,
+                      final int depth) {
+        this.probes.increment();
+        final int slot = slot(key);
+        final long data = this.entries.get(slot + 1);
+        if ((this.entries.get(slot) ^ data) == key && (data & DEPTH_MASK) == depth) {
+            this.hits.increment();
+            return data >>> DEPTH_BITS;
+        }
+        return NOT_FOUND;
+    }
+
+    public void store(final long key,
+                      final int depth,
+                      final long nodes) {
+        final int slot = slot(key);
+        final long data = (nodes << DEPTH_BITS) | depth;
+        this.entries.set(slot, key ^ data);
+        this.entries.set(slot + 1, data);
+    }
+
+    public long getProbes() {
+        return this.probes.sum();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public double getHitRate() {
+        final long probes = getProbes();
+        return probes == 0 ? 0.0 : (double) getHits() / probes;
+    }
+
+    public int getEntryCount() {
+        return this.indexMask + 1;
+    }
+
+    private int slot(final long key) {
+        return ((int) (key ^ (key >>> 32)) & this.indexMask) << 1;
+    }
+
+}
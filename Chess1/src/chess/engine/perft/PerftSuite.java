@@ -0,0 +1,156 @@
+package chess.engine.perft;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import chess.engine.board.Board;
+import chess.engine.board.FenUtilities;
+import chess.engine.board.Move;
+
+//usage: suite [maxDepth] [threads] | perft <depth> [threads] [fen] | divide <depth> [fen]
+//       | hash <depth> [threads] [cacheMB] [fen]
+public final class PerftSuite {
+
+    private static final int DEFAULT_SUITE_DEPTH = 3;
+    private static final int DEFAULT_CACHE_MEGABYTES = 64;
+
+    private PerftSuite() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    public static void main(final String[] args) {
+        final String mode = args.length > 0 ? args[0] : "suite";
+        switch (mode) {
+            case "suite":
+                runSuite(intArgument(args, 1, DEFAULT_SUITE_DEPTH), intArgument(args, 2, 1));
+                break;
+            case "perft":
+                runPerft(boardArgument(args, 3), intArgument(args, 1, DEFAULT_SUITE_DEPTH), intArgument(args, 2, 1));
+                break;
+            case "hash":
+                runHashPerft(boardArgument(args, 4), intArgument(args, 1, DEFAULT_SUITE_DEPTH), intArgument(args, 2, 1),
+                        intArgument(args, 3, DEFAULT_CACHE_MEGABYTES));
+                break;
+            case "divide":
+                runDivide(boardArgument(args, 2), intArgument(args, 1, DEFAULT_SUITE_DEPTH));
+                break;
+            default:
+                throw new RuntimeException("Unknown perft mode: " + mode);
+        }
+    }
+
+    public static boolean runSuite(final int maxDepth,
+                                   final int threads) {
+        boolean allPassed = true;
+        for (final PerftPosition position : PerftPosition.values()) {
+            System.out.println(position + " " + position.getFen());
+            final Board board = position.createBoard();
+            for (int depth = 1; depth <= Math.min(maxDepth, position.getMaxDepth()); depth++) {
+                final long startTime = System.nanoTime();
+                final long nodes = count(board, depth, threads);
+                final long elapsedNanos = System.nanoTime() - startTime;
+                final boolean passed = nodes == position.getExpectedNodes(depth);
+                allPassed &= passed;
+                System.out.println(String.format("  depth %d: %,d nodes (expected %,d) %s in %s",
+                        depth, nodes, position.getExpectedNodes(depth), passed ? "OK" : "FAILED",
+                        formatTime(nodes, elapsedNanos)));
+            }
+        }
+        System.out.println(allPassed ? "perft suite passed" : "perft suite FAILED");
+        return allPassed;
+    }
+
+    private static void runPerft(final Board board,
+                                 final int depth,
+                                 final int threads) {
+        final long startTime = System.nanoTime();
+        final long nodes = count(board, depth, threads);
+        System.out.println(String.format("perft %d: %,d nodes in %s", depth, nodes,
+                formatTime(nodes, System.nanoTime() - startTime)));
+    }
+
+    private static void runHashPerft(final Board board,
+                                     final int depth,
+                                     final int threads,
+                                     final int cacheMegabytes) {
+        final long uncachedStart = System.nanoTime();
+        final long uncachedNodes = count(board, depth, threads);
+        final long uncachedNanos = System.nanoTime() - uncachedStart;
+        final PerftCache cache = new PerftCache(cacheMegabytes);
+        final long cachedStart = System.nanoTime();
+        final long cachedNodes = count(board, depth, threads, cache);
+        final long cachedNanos = System.nanoTime() - cachedStart;
+        System.out.println(String.format("uncached perft %d: %,d nodes in %s", depth, uncachedNodes,
+                formatTime(uncachedNodes, uncachedNanos)));
+        System.out.println(String.format("cached perft %d: %,d nodes in %s", depth, cachedNodes,
+                formatTime(cachedNodes, cachedNanos)));
+        System.out.println(String.format("cache: %,d entries, %,d probes, %,d hits (%.1f%%), speedup %.2fx%s",
+                cache.getEntryCount(), cache.getProbes(), cache.getHits(), cache.getHitRate() * 100,
+                (double) uncachedNanos / Math.max(1L, cachedNanos),
+                cachedNodes == uncachedNodes ? "" : " MISMATCH"));
+    }
+
+    private static void runDivide(final Board board,
+                                  final int depth) {
+        long totalNodes = 0L;
+        for (final Map.Entry<Move, Long> entry : Perft.divide(board, depth).entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            totalNodes += entry.getValue();
+        }
+        System.out.println(String.format("total: %,d", totalNodes));
+    }
+
+    static long count(final Board board,
+                      final int depth,
+                      final int threads) {
+        if (threads <= 1) {
+            return Perft.perft(board, depth);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return Perft.perft(board, depth, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static long count(final Board board,
+                      final int depth,
+                      final int threads,
+                      final PerftCache cache) {
+        if (threads <= 1) {
+            return Perft.perft(board, depth, cache);
+        }
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return Perft.perft(board, depth, pool, cache);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    static String formatTime(final long nodes,
+                             final long elapsedNanos) {
+        final double seconds = elapsedNanos / 1e9;
+        return String.format("%.3fs (%,.0f nodes/s)", seconds, seconds > 0 ? nodes / seconds : 0.0);
+    }
+
+    private static int intArgument(final String[] args,
+                                   final int index,
+                                   final int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+    private static Board boardArgument(final String[] args,
+                                       final int index) {
+        if (args.length <= index) {
+            return Board.createStandardBoard();
+        }
+        final StringBuilder fen = new StringBuilder();
+        for (int i = index; i < args.length; i++) {
+            fen.append(args[i]).append(' ');
+        }
+        return FenUtilities.createGameFromFEN(fen.toString());
+    }
+
+}
@@ -0,0 +1,59 @@
+package chess.engine.perft;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import chess.engine.board.Board;
+import chess.engine.board.Move;
+
+final class PerftTask
+        extends RecursiveTask<Long> {
+
+    private static final long serialVersionUID = 1L;
+
+    //below this depth a subtree is too small to be worth a task of its own
+    private static final int SEQUENTIAL_DEPTH = 3;
+
+    private final Board board;
+    private final int depth;
+    private final PerftCache cache;
+
+    PerftTask(final Board board,
+              final int depth,
+              final PerftCache cache) {
+        this.board = board;
+        this.depth = depth;
+        this.cache = cache;
+    }
+
+    @Override
+    protected Long compute() {
+        if (this.depth <= SEQUENTIAL_DEPTH) {
+            return this.cache == null ? Perft.perft(this.board, this.depth) :
+                    Perft.perft(this.board, this.depth, this.cache);
+        }
+        if (this.cache != null) {
+            final long cachedNodes = this.cache.probe(this.board.getZobristKey(), this.depth);
+            if (cachedNodes != PerftCache.NOT_FOUND) {
+                return cachedNodes;
+            }
+        }
+        final List<PerftTask> subTasks = new ArrayList<>();
+        for (final Move move : this.board.currentPlayer().getLegalMoves()) {
+            final PerftTask subTask = new PerftTask(this.board.currentPlayer().makeMove(move).getToBoard(),
+                    this.depth - 1, this.cache);
+            subTask.fork();
+            subTasks.add(subTask);
+        }
+        long nodes = 0L;
+        for (final PerftTask subTask : subTasks) {
+            nodes += subTask.join();
+        }
+        if (this.cache != null) {
+            this.cache.store(this.board.getZobristKey(), this.depth, nodes);
+        }
+        return nodes;
+    }
+
+}
@@ -1,26 +1,10 @@
 package chess.engine.pieces;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import chess.engine.Alliance;
-import chess.engine.board.Board;
-import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
-import chess.engine.board.Move.MajorAttackMove;
-import chess.engine.board.Move.MajorMove;
 
 public final class King extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -9, -8, -7, -1, 1, 7, 8, 9 };
-
-    private final static Map<Integer, int[]> PRECOMPUTED_CANDIDATES = computeCandidates();
-
     private final boolean isCastled;
     private final boolean kingSideCastleCapable;
     private final boolean queenSideCastleCapable;
@@ -47,29 +31,6 @@ public final class King extends Piece {
         this.queenSideCastleCapable = queenSideCastleCapable;
     }
 
-    private static Map<Integer, int[]> computeCandidates() {
-        final Map<Integer, int[]> candidates = new HashMap<>();
-        for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
-            int[] legalOffsets = new int[CANDIDATE_MOVE_COORDINATES.length];
-            int numLegalOffsets = 0;
-            for (int offset : CANDIDATE_MOVE_COORDINATES) {
-                if (isFirstColumnExclusion(position, offset) ||
-                        isEighthColumnExclusion(position, offset)) {
-                    continue;
-                }
-                int destination = position + offset;
-                if (BoardUtils.isValidTileCoordinate(destination)) {
-                    legalOffsets[numLegalOffsets++] = offset;
-                }
-            }
-            if (numLegalOffsets > 0) {
-                candidates.put(position, Arrays.copyOf(legalOffsets, numLegalOffsets));
-            }
-        }
-        return Collections.unmodifiableMap(candidates);
-    }
-
-
     public boolean isCastled() {
         return this.isCastled;
     }
@@ -82,25 +43,6 @@ public final class King extends Piece {
         return this.queenSideCastleCapable;
     }
 
-    @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int currentCandidateOffset : PRECOMPUTED_CANDIDATES.get(this.piecePosition)) {
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-            if (pieceAtDestination == null) {
-                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-            } else {
-                final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                    legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                            pieceAtDestination));
-                }
-            }
-        }
-        return Collections.unmodifiableList(legalMoves);
-    }
-
     @Override
     public String toString() {
         return this.pieceType.toString();
@@ -135,18 +77,4 @@ public final class King extends Piece {
     public int hashCode() {
         return (31 * super.hashCode()) + (isCastled ? 1 : 0);
     }
-
-    private static boolean isFirstColumnExclusion(final int currentCandidate,
-                                                  final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(currentCandidate)
-                && ((candidateDestinationCoordinate == -9) || (candidateDestinationCoordinate == -1) ||
-                (candidateDestinationCoordinate == 7));
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentCandidate,
-                                                   final int candidateDestinationCoordinate) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(currentCandidate)
-                && ((candidateDestinationCoordinate == -7) || (candidateDestinationCoordinate == 1) ||
-                (candidateDestinationCoordinate == 9));
-    }
-}
\ No newline at end of file
+}
@@ -1,25 +1,10 @@
 package chess.engine.pieces;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import chess.engine.Alliance;
-import chess.engine.board.Board;
-import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
-import chess.engine.board.Move.MajorAttackMove;
-import chess.engine.board.Move.MajorMove;
 
 public final class Knight extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -17, -15, -10, -6, 6, 10, 15, 17 };
-    private final static Map<Integer, int[]> PRECOMPUTED_CANDIDATES = computeCandidates();
-
     public Knight(final Alliance alliance,
                   final int piecePosition) {
         super(PieceType.KNIGHT, alliance, piecePosition, true);
@@ -31,46 +16,6 @@ public final class Knight extends Piece {
         super(PieceType.KNIGHT, alliance, piecePosition, isFirstMove);
     }
 
-    private static Map<Integer, int[]> computeCandidates() {
-        final Map<Integer, int[]> candidates = new HashMap<>();
-        for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
-            final int[] legalOffsets = new int[CANDIDATE_MOVE_COORDINATES.length];
-            int numLegalMoves = 0;
-            for (final int offset : CANDIDATE_MOVE_COORDINATES) {
-                if(isFirstColumnExclusion(position, offset) ||
-                        isSecondColumnExclusion(position, offset) ||
-                        isSeventhColumnExclusion(position, offset) ||
-                        isEighthColumnExclusion(position, offset)) {
-                    continue;
-                }
-                final int destination = position + offset;
-                if (BoardUtils.isValidTileCoordinate(destination)) {
-                    legalOffsets[numLegalMoves++] = destination;
-                }
-            }
-            candidates.put(position, Arrays.copyOf(legalOffsets, numLegalMoves));
-        }
-        return Collections.unmodifiableMap(candidates);
-    }
-
-    @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final int candidateDestinationCoordinate : PRECOMPUTED_CANDIDATES.get(this.piecePosition)) {
-            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-            if (pieceAtDestination == null) {
-                legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-            } else {
-                final Alliance pieceAtDestinationAllegiance = pieceAtDestination.getPieceAllegiance();
-                if (this.pieceAlliance != pieceAtDestinationAllegiance) {
-                    legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                            pieceAtDestination));
-                }
-            }
-        }
-        return Collections.unmodifiableList(legalMoves);
-    }
-
     @Override
     public int locationBonus() {
         return this.pieceAlliance.knightBonus(this.piecePosition);
@@ -86,26 +31,4 @@ public final class Knight extends Piece {
         return this.pieceType.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int currentPosition,
-                                                  final int candidateOffset) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(currentPosition) && ((candidateOffset == -17) ||
-                (candidateOffset == -10) || (candidateOffset == 6) || (candidateOffset == 15));
-    }
-
-    private static boolean isSecondColumnExclusion(final int currentPosition,
-                                                   final int candidateOffset) {
-        return BoardUtils.INSTANCE.SECOND_COLUMN.get(currentPosition) && ((candidateOffset == -10) || (candidateOffset == 6));
-    }
-
-    private static boolean isSeventhColumnExclusion(final int currentPosition,
-                                                    final int candidateOffset) {
-        return BoardUtils.INSTANCE.SEVENTH_COLUMN.get(currentPosition) && ((candidateOffset == -6) || (candidateOffset == 10));
-    }
-
-    private static boolean isEighthColumnExclusion(final int currentPosition,
-                                                   final int candidateOffset) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(currentPosition) && ((candidateOffset == -15) || (candidateOffset == -6) ||
-                (candidateOffset == 10) || (candidateOffset == 17));
-    }
-
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package chess.engine.pieces;
 
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 import chess.engine.Alliance;
 import chess.engine.board.Board;
@@ -49,8 +50,13 @@ public abstract class Piece {
 
     public abstract Piece movePiece(Move move);
 
-    public abstract Collection<Move> calculateLegalMoves(final Board board);
-
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        return this.pieceAlliance.choosePlayerByAlliance(board.whitePlayer(), board.blackPlayer())
+                                 .getLegalMoves()
+                                 .stream()
+                                 .filter(move -> move.getCurrentCoordinate() == this.piecePosition)
+                                 .collect(Collectors.toList());
+    }
 
     @Override
     public boolean equals(final Object other) {
@@ -5,6 +5,7 @@ import com.google.common.collect.Table;
 
 import chess.engine.Alliance;
 import chess.engine.board.BoardUtils;
+import chess.engine.pieces.Piece.PieceType;
 
 enum PieceUtils {
 
@@ -41,6 +42,25 @@ enum PieceUtils {
         return ALL_POSSIBLE_QUEENS.get(alliance, destinationCoordinate);
     }
 
+    Piece getMovedPiece(final PieceType pieceType,
+                        final Alliance alliance,
+                        final int destinationCoordinate) {
+        switch (pieceType) {
+            case PAWN:
+                return getMovedPawn(alliance, destinationCoordinate);
+            case KNIGHT:
+                return getMovedKnight(alliance, destinationCoordinate);
+            case BISHOP:
+                return getMovedBishop(alliance, destinationCoordinate);
+            case ROOK:
+                return getMovedRook(alliance, destinationCoordinate);
+            case QUEEN:
+                return getMovedQueen(alliance, destinationCoordinate);
+            default:
+                throw new RuntimeException("Should not reach here!");
+        }
+    }
+
     private static Table<Alliance, Integer, Pawn> createAllPossibleMovedPawns() {
         final ImmutableTable.Builder<Alliance, Integer, Pawn> pieces = ImmutableTable.builder();
         for(final Alliance alliance : Alliance.values()) {
@@ -1,27 +1,10 @@
 package chess.engine.pieces;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
 import chess.engine.Alliance;
-import chess.engine.board.Board;
-import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
-import chess.engine.board.Move.MajorAttackMove;
-import chess.engine.board.Move.MajorMove;
-import chess.engine.board.MoveUtils;
 
 public final class Queen extends Piece {
 
-    private final static int[] CANDIDATE_MOVE_COORDINATES = { -9, -8, -7, -1, 1,
-            7, 8, 9 };
-
-    private final static Map<Integer, MoveUtils.Line[]> PRECOMPUTED_CANDIDATES = computeCandidates();
-
     public Queen(final Alliance alliance, final int piecePosition) {
         super(PieceType.QUEEN, alliance, piecePosition, true);
     }
@@ -32,56 +15,6 @@ public final class Queen extends Piece {
         super(PieceType.QUEEN, alliance, piecePosition, isFirstMove);
     }
 
-    private static Map<Integer, MoveUtils.Line[]> computeCandidates() {
-        final Map<Integer, MoveUtils.Line[]> candidates = new HashMap<>();
-        for (int position = 0; position < BoardUtils.NUM_TILES; position++) {
-            List<MoveUtils.Line> lines = new ArrayList<>();
-            for (int offset : CANDIDATE_MOVE_COORDINATES) {
-                int destination = position;
-                MoveUtils.Line line = new MoveUtils.Line();
-                while (BoardUtils.isValidTileCoordinate(destination)) {
-                    if (isFirstColumnExclusion(destination, offset) ||
-                            isEightColumnExclusion(destination, offset)) {
-                        break;
-                    }
-                    destination += offset;
-                    if (BoardUtils.isValidTileCoordinate(destination)) {
-                        line.addCoordinate(destination);
-                    }
-                }
-                if (!line.isEmpty()) {
-                    lines.add(line);
-                }
-            }
-            if (!lines.isEmpty()) {
-                candidates.put(position, lines.toArray(new MoveUtils.Line[0]));
-            }
-        }
-        return Collections.unmodifiableMap(candidates);
-    }
-
-
-    @Override
-    public Collection<Move> calculateLegalMoves(final Board board) {
-        final List<Move> legalMoves = new ArrayList<>();
-        for (final MoveUtils.Line line : PRECOMPUTED_CANDIDATES.get(this.piecePosition)) {
-            for (final int candidateDestinationCoordinate : line.getLineCoordinates()) {
-                final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
-                if (pieceAtDestination == null) {
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationCoordinate));
-                } else {
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAllegiance();
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new MajorAttackMove(board, this, candidateDestinationCoordinate,
-                                pieceAtDestination));
-                    }
-                    break;
-                }
-            }
-        }
-        return Collections.unmodifiableList(legalMoves);
-    }
-
     @Override
     public int locationBonus() {
         return this.pieceAlliance.queenBonus(this.piecePosition);
@@ -97,16 +30,4 @@ public final class Queen extends Piece {
         return this.pieceType.toString();
     }
 
-    private static boolean isFirstColumnExclusion(final int position,
-                                                  final int offset) {
-        return BoardUtils.INSTANCE.FIRST_COLUMN.get(position) && ((offset == -9)
-                || (offset == -1) || (offset == 7));
-    }
-
-    private static boolean isEightColumnExclusion(final int position,
-                                                  final int offset) {
-        return BoardUtils.INSTANCE.EIGHTH_COLUMN.get(position) && ((offset == -7)
-                || (offset == 1) || (offset == 9));
-    }
-
-}
\ No newline at end of file
+}
@@ -1,11 +1,9 @@
 package chess.engine.player;
 
 import static chess.engine.pieces.Piece.PieceType.KING;
-import static java.util.stream.Collectors.collectingAndThen;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.Iterator;
 
 import chess.engine.Alliance;
 import chess.engine.board.Board;
@@ -19,29 +17,28 @@ public abstract class Player {
 
     protected final Board board;
     protected final King playerKing;
-    protected final Collection<Move> legalMoves;
-    protected final boolean isInCheck;
 
-    Player(final Board board,
-           final Collection<Move> playerLegals,
-           final Collection<Move> opponentLegals) {
+    Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.isInCheck = !calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentLegals).isEmpty();
-        playerLegals.addAll(calculateKingCastles(playerLegals, opponentLegals));
-        this.legalMoves = Collections.unmodifiableCollection(playerLegals);
     }
 
     public boolean isInCheck() {
-        return this.isInCheck;
+        return this.board.isInCheck(getAlliance());
     }
 
     public boolean isInCheckMate() {
-       return this.isInCheck && !hasEscapeMoves();
+        if (getAlliance() == this.board.getSideToMove()) {
+            return this.board.getGameStatus().isCheckMate();
+        }
+        return isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isInStaleMate() {
-        return !this.isInCheck && !hasEscapeMoves();
+        if (getAlliance() == this.board.getSideToMove()) {
+            return this.board.getGameStatus().isStaleMate();
+        }
+        return !isInCheck() && !hasEscapeMoves();
     }
 
     public boolean isCastled() {
@@ -61,37 +58,35 @@ public abstract class Player {
     }
 
     private King establishKing() {
-        return (King) getActivePieces().stream()
-                                       .filter(piece -> piece.getPieceType() == KING)
-                                       .findAny()
-                                       .orElseThrow(RuntimeException::new);
+        final long kingBitBoard = this.board.getBitBoard().getPieces(KING, getAlliance());
+        if (kingBitBoard == 0) {
+            throw new RuntimeException("Invalid board: no " + getAlliance() + " king");
+        }
+        return (King) this.board.getPiece(Long.numberOfTrailingZeros(kingBitBoard));
     }
 
     private boolean hasEscapeMoves() {
-        return this.legalMoves.stream()
-                              .anyMatch(move -> makeMove(move)
-                              .getMoveStatus().isDone());
+        return !getLegalMoves().isEmpty();
     }
 
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        return this.board.getLegalMoves(getAlliance());
     }
 
-    static Collection<Move> calculateAttacksOnTile(final int tile,
-                                                   final Collection<Move> moves) {
-        return moves.stream()
-                    .filter(move -> move.getDestinationCoordinate() == tile)
-                    .collect(collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    public int countLegalMoves() {
+        return this.board.countLegalMoves(getAlliance());
+    }
+
+    public Iterator<Move> getStagedMoves(final Move hashMove,
+                                         final Move... killers) {
+        return this.board.stagedMoves(getAlliance(), hashMove, killers);
     }
 
     public MoveTransition makeMove(final Move move) {
-        if (!this.legalMoves.contains(move)) {
+        if (!this.board.isLegalMove(move, getAlliance())) {
             return new MoveTransition(this.board, this.board, move, MoveStatus.ILLEGAL_MOVE);
         }
-        final Board transitionedBoard = move.execute();
-        return transitionedBoard.currentPlayer().getOpponent().isInCheck() ?
-                new MoveTransition(this.board, this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK) :
-                new MoveTransition(this.board, transitionedBoard, move, MoveStatus.DONE);
+        return new MoveTransition(this.board, move.execute(), move, MoveStatus.DONE);
     }
 
     public MoveTransition unMakeMove(final Move move) {
@@ -101,11 +96,5 @@ public abstract class Player {
     public abstract Collection<Piece> getActivePieces();
     public abstract Alliance getAlliance();
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegals,
-                                                             Collection<Move> opponentLegals);
-    protected boolean hasCastleOpportunities() {
-        return !this.isInCheck && !this.playerKing.isCastled() &&
-                (this.playerKing.isKingSideCastleCapable() || this.playerKing.isQueenSideCastleCapable());
-    }
 
 }
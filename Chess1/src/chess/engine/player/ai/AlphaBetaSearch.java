@@ -0,0 +1,220 @@
+package chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import chess.engine.board.Board;
+import chess.engine.board.Move;
+import chess.engine.board.Move.MoveFactory;
+import chess.engine.board.MoveList;
+import chess.engine.board.MutableBoard;
+
+//negamax alpha-beta with principal variation search, deepened one ply at a time until a limit is hit
+public final class AlphaBetaSearch
+        implements MoveStrategy {
+
+    public static final int INFINITY = 1_000_000;
+    public static final int MATE_SCORE = 500_000;
+    public static final int DRAW_SCORE = 0;
+    public static final int DEFAULT_HASH_MEGABYTES = 16;
+    static final int NO_SCORE = Integer.MIN_VALUE;
+
+    private final BoardEvaluator evaluator;
+    private final SearchLimits limits;
+    private final TranspositionTable transpositionTable;
+    private final SearchOptions options;
+    private volatile SearchControl control;
+
+    public AlphaBetaSearch(final BoardEvaluator evaluator,
+                           final SearchLimits limits,
+                           final TranspositionTable transpositionTable,
+                           final SearchOptions options) {
+        this.evaluator = evaluator;
+        this.limits = limits;
+        this.transpositionTable = transpositionTable;
+        this.options = options;
+    }
+
+    public AlphaBetaSearch(final BoardEvaluator evaluator,
+                           final SearchLimits limits,
+                           final TranspositionTable transpositionTable) {
+        this(evaluator, limits, transpositionTable, SearchOptions.defaultOptions());
+    }
+
+    //a table of the size and kind the options ask for
+    public AlphaBetaSearch(final BoardEvaluator evaluator,
+                           final SearchLimits limits,
+                           final SearchOptions options) {
+        this(evaluator, limits, TranspositionTable.create(options.getHashMegabytes(), options.isOffHeapHash()),
+                options);
+    }
+
+    public AlphaBetaSearch(final SearchLimits limits) {
+        this(StandardBoardEvaluator.get(), limits, SearchOptions.defaultOptions());
+    }
+
+    public TranspositionTable getTranspositionTable() {
+        return this.transpositionTable;
+    }
+
+    @Override
+    public Move execute(final Board board) {
+        return search(board).getBestMove();
+    }
+
+    //asks a running search to return its best move so far
+    public void stop() {
+        final SearchControl searchControl = this.control;
+        if (searchControl != null) {
+            searchControl.stop();
+        }
+    }
+
+    public SearchResult search(final Board board) {
+        return search(board, SearchListener.NONE);
+    }
+
+    public SearchResult search(final Board board,
+                               final SearchListener listener) {
+        return search(board, this.limits, listener);
+    }
+
+    //limits for this search only, such as a budget from the game clock
+    public SearchResult search(final Board board,
+                               final SearchLimits limits,
+                               final SearchListener listener) {
+        return search(board, limits, listener, new StopSignal());
+    }
+
+    //the caller keeps the signal, so it can stop the search before it has even started
+    public SearchResult search(final Board board,
+                               final SearchLimits limits,
+                               final SearchListener listener,
+                               final StopSignal stopSignal) {
+        final long startNanos = System.nanoTime();
+        final TimeManager timeManager = new TimeManager(limits);
+        final SearchControl searchControl = new SearchControl(limits, timeManager, stopSignal, startNanos);
+        this.control = searchControl;
+        final MutableBoard mutableBoard = new MutableBoard(board);
+        final MoveList rootMoves = new MoveList();
+        mutableBoard.generateMoves(rootMoves);
+        if (rootMoves.isEmpty()) {
+            final int score = board.currentPlayer().isInCheck() ? -MATE_SCORE : DRAW_SCORE;
+            return new SearchResult(MoveFactory.getNullMove(), score, 0, Collections.emptyList(), 0L, 0L);
+        }
+        this.transpositionTable.newSearch();
+        final List<SearchWorker> helpers = new ArrayList<>();
+        final List<Thread> helperThreads;
+        final RootSearch rootSearch;
+        final YoungBrothersWaitSearch splitSearch;
+        if (this.options.getParallelMode() == SearchOptions.ParallelMode.YOUNG_BROTHERS_WAIT) {
+            splitSearch = new YoungBrothersWaitSearch(board, this.evaluator, this.transpositionTable, searchControl,
+                    this.options);
+            rootSearch = splitSearch;
+            helperThreads = Collections.emptyList();
+        } else {
+            splitSearch = null;
+            rootSearch = new SearchWorker(mutableBoard, this.evaluator, this.transpositionTable, searchControl,
+                    this.options);
+            helperThreads = startHelpers(board, limits, searchControl, helpers);
+        }
+        int bestScore = 0;
+        //the limits hold from the first node on: if even depth 1 runs out of time, the best of the root
+        //moves it got through is played, and the first legal move if it got through none
+        int[] principalVariation = {rootMoves.get(0)};
+        int completedDepth = 0;
+        for (int depth = 1; depth <= limits.getDepth(); depth++) {
+            final int score = rootSearch.searchRoot(rootMoves, depth);
+            if (score != NO_SCORE) {
+                bestScore = score;
+                principalVariation = rootSearch.getPrincipalVariation();
+            }
+            if (searchControl.isStopped()) {
+                break;
+            }
+            completedDepth = depth;
+            final long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+            final List<Move> moves = toMoves(board, principalVariation);
+            listener.onIteration(new SearchResult(moves.get(0), bestScore, completedDepth, moves,
+                    searchControl.getNodes(), elapsedMillis));
+            if (timeManager.isDone(depth, principalVariation[0], bestScore, elapsedMillis)) {
+                break;
+            }
+            //nothing left to decide: a forced move, or a mate that a deeper search cannot shorten
+            if (rootMoves.size() == 1 || Math.abs(bestScore) >= MATE_SCORE - depth) {
+                break;
+            }
+        }
+        if (splitSearch != null) {
+            splitSearch.shutdown();
+        }
+        final long nodes = rootSearch.getNodes() + stopHelpers(helpers, helperThreads, searchControl);
+        final long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+        final List<Move> moves = toMoves(board, principalVariation);
+        return new SearchResult(moves.get(0), bestScore, completedDepth, moves, nodes, elapsedMillis);
+    }
+
+    //lazy smp: helpers search the same root on their own boards, staggered by depth, and only
+    //help the main thread through the entries they leave in the shared transposition table
+    private List<Thread> startHelpers(final Board board,
+                                      final SearchLimits limits,
+                                      final SearchControl searchControl,
+                                      final List<SearchWorker> helpers) {
+        final List<Thread> helperThreads = new ArrayList<>();
+        for (int i = 1; i < this.options.getThreads(); i++) {
+            final MutableBoard helperBoard = new MutableBoard(board);
+            final MoveList helperMoves = new MoveList();
+            helperBoard.generateMoves(helperMoves);
+            final SearchWorker helper = new SearchWorker(helperBoard, this.evaluator, this.transpositionTable,
+                    searchControl, this.options);
+            final int firstDepth = 1 + (i & 1);
+            final Thread thread = new Thread(() -> {
+                for (int depth = firstDepth; depth <= limits.getDepth() && !searchControl.isStopped(); depth++) {
+                    helper.searchRoot(helperMoves, depth);
+                }
+            }, "search-helper-" + i);
+            thread.setDaemon(true);
+            helpers.add(helper);
+            helperThreads.add(thread);
+            thread.start();
+        }
+        return helperThreads;
+    }
+
+    private static long stopHelpers(final List<SearchWorker> helpers,
+                                    final List<Thread> helperThreads,
+                                    final SearchControl searchControl) {
+        searchControl.stop();
+        for (final Thread thread : helperThreads) {
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long nodes = 0L;
+        for (final SearchWorker helper : helpers) {
+            nodes += helper.getNodes();
+        }
+        return nodes;
+    }
+
+    private static List<Move> toMoves(final Board board,
+                                      final int[] principalVariation) {
+        final List<Move> moves = new ArrayList<>(principalVariation.length);
+        Board current = board;
+        for (final int encodedMove : principalVariation) {
+            final Move move = MoveFactory.createMove(current, encodedMove);
+            moves.add(move);
+            current = move.execute();
+        }
+        return Collections.unmodifiableList(moves);
+    }
+
+    @Override
+    public String toString() {
+        return "AlphaBeta (" + this.limits + ", " + this.options + ")";
+    }
+
+}
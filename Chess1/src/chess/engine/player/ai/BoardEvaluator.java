@@ -0,0 +1,10 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.BitBoard;
+
+public interface BoardEvaluator {
+
+    //scored from the point of view of the side to move
+    int evaluate(BitBoard bitBoard);
+
+}
@@ -0,0 +1,58 @@
+package chess.engine.player.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class HeapTranspositionTable
+        extends TranspositionTable {
+
+    private AtomicLongArray entries;
+
+    public HeapTranspositionTable(final int sizeInMegabytes) {
+        resize(sizeInMegabytes);
+    }
+
+    //plain access is enough: the xor check rejects any torn or half published entry
+    @Override
+    long loadCheck(final int index) {
+        return this.entries.getPlain(index << 1);
+    }
+
+    @Override
+    long loadData(final int index) {
+        return this.entries.getPlain((index << 1) + 1);
+    }
+
+    @Override
+    void storeEntry(final int index,
+                    final long check,
+                    final long data) {
+        this.entries.setPlain(index << 1, check);
+        this.entries.setPlain((index << 1) + 1, data);
+    }
+
+    @Override
+    void allocateEntries(final int entryCount) {
+        //let the old array go before allocating the new one
+        freeEntries();
+        this.entries = new AtomicLongArray(entryCount * 2);
+    }
+
+    @Override
+    void freeEntries() {
+        this.entries = null;
+    }
+
+    //two longs per entry in one java array
+    @Override
+    long maxEntries() {
+        return 1L << 29;
+    }
+
+    @Override
+    void clearEntries() {
+        for (int i = 0; i < this.entries.length(); i++) {
+            this.entries.setPlain(i, 0L);
+        }
+    }
+
+}
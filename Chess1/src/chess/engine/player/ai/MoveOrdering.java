@@ -0,0 +1,98 @@
+package chess.engine.player.ai;
+
+import chess.engine.Alliance;
+import chess.engine.board.BitBoard;
+import chess.engine.board.BoardUtils;
+import chess.engine.board.MoveEncoding;
+import chess.engine.board.MoveGenerator;
+import chess.engine.board.MoveList;
+
+//one thread's quiet move ordering: killer slots per ply, a butterfly history and countermoves,
+//all learned from the quiet moves that caused beta cutoffs
+final class MoveOrdering {
+
+    static final int KILLER_SLOTS = 2;
+
+    //history scores saturate towards this bound instead of overflowing
+    private static final int HISTORY_LIMIT = 1 << 14;
+
+    private final int[][] killers;
+    private final int[][][] history;
+    //keyed by the piece code and destination of the opponent's last move
+    private final int[][] counterMoves;
+    //killers plus the countermove, as handed to the move picker
+    private final int[][] orderingMoves;
+
+    MoveOrdering(final int maxPly) {
+        this.killers = new int[maxPly][KILLER_SLOTS];
+        this.history = new int[Alliance.values().length][BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+        this.counterMoves = new int[BitBoard.NUM_PIECE_CODES][BoardUtils.NUM_TILES];
+        this.orderingMoves = new int[maxPly][KILLER_SLOTS + 1];
+    }
+
+    int[][] getHistory(final Alliance alliance) {
+        return this.history[alliance.ordinal()];
+    }
+
+    //the killers of this ply followed by the reply to the previous move
+    int[] orderingMoves(final int ply,
+                        final int previousMove) {
+        final int[] moves = this.orderingMoves[ply];
+        System.arraycopy(this.killers[ply], 0, moves, 0, KILLER_SLOTS);
+        moves[KILLER_SLOTS] = previousMove != MoveEncoding.NULL_MOVE ?
+                this.counterMoves[MoveEncoding.getMovedPieceCode(previousMove)]
+                                 [MoveEncoding.getDestinationCoordinate(previousMove)] : MoveEncoding.NULL_MOVE;
+        return moves;
+    }
+
+    //rewards the quiet move that failed high and penalises the quiets searched before it
+    void recordCutoff(final Alliance alliance,
+                      final int move,
+                      final int previousMove,
+                      final MoveList triedQuiets,
+                      final int depth,
+                      final int ply) {
+        if (MoveGenerator.isNoisyMove(move)) {
+            return;
+        }
+        final int[] plyKillers = this.killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        if (previousMove != MoveEncoding.NULL_MOVE) {
+            this.counterMoves[MoveEncoding.getMovedPieceCode(previousMove)]
+                             [MoveEncoding.getDestinationCoordinate(previousMove)] = move;
+        }
+        final int bonus = Math.min(depth * depth, HISTORY_LIMIT);
+        final int[][] sideHistory = this.history[alliance.ordinal()];
+        updateHistory(sideHistory, move, bonus);
+        for (int i = 0; i < triedQuiets.size(); i++) {
+            if (triedQuiets.get(i) != move) {
+                updateHistory(sideHistory, triedQuiets.get(i), -bonus);
+            }
+        }
+    }
+
+    //between iterations old history fades so the deeper search can reorder it; killers stay, since
+    //every iteration searches the same plies
+    void age() {
+        for (final int[][] sideHistory : this.history) {
+            for (final int[] fromHistory : sideHistory) {
+                for (int to = 0; to < fromHistory.length; to++) {
+                    fromHistory[to] /= 2;
+                }
+            }
+        }
+    }
+
+    private static void updateHistory(final int[][] sideHistory,
+                                      final int move,
+                                      final int bonus) {
+        final int from = MoveEncoding.getCurrentCoordinate(move);
+        final int to = MoveEncoding.getDestinationCoordinate(move);
+        //the closer a score is to the limit, the less a further bonus moves it
+        sideHistory[from][to] += bonus - sideHistory[from][to] * Math.abs(bonus) / HISTORY_LIMIT;
+    }
+
+}
@@ -0,0 +1,144 @@
+package chess.engine.player.ai;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.Cleaner;
+import java.lang.reflect.Field;
+
+//entries live in native memory outside the java heap, so even a table of many gigabytes costs the
+//garbage collector nothing to scan. the memory comes from Unsafe.allocateMemory rather than direct
+//buffers, so it counts against neither -Xmx nor -XX:MaxDirectMemorySize and a 16 GB table needs no
+//jvm flags, only the physical memory. resize and free give it back at once; a table that is never
+//freed gives it back once it is collected
+public final class OffHeapTranspositionTable
+        extends TranspositionTable {
+
+    //looked up by reflection so the build does not depend on the internal api
+    private static final MethodHandle ALLOCATE_MEMORY;
+    private static final MethodHandle FREE_MEMORY;
+    private static final MethodHandle SET_MEMORY;
+    private static final MethodHandle GET_LONG;
+    private static final MethodHandle PUT_LONG;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    static {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ALLOCATE_MEMORY = lookup.findVirtual(unsafeClass, "allocateMemory",
+                    MethodType.methodType(long.class, long.class)).bindTo(unsafe);
+            FREE_MEMORY = lookup.findVirtual(unsafeClass, "freeMemory",
+                    MethodType.methodType(void.class, long.class)).bindTo(unsafe);
+            SET_MEMORY = lookup.findVirtual(unsafeClass, "setMemory",
+                    MethodType.methodType(void.class, long.class, long.class, byte.class)).bindTo(unsafe);
+            GET_LONG = lookup.findVirtual(unsafeClass, "getLong",
+                    MethodType.methodType(long.class, long.class)).bindTo(unsafe);
+            PUT_LONG = lookup.findVirtual(unsafeClass, "putLong",
+                    MethodType.methodType(void.class, long.class, long.class)).bindTo(unsafe);
+        } catch (final ReflectiveOperationException e) {
+            throw new RuntimeException("off-heap transposition table is not supported on this jvm", e);
+        }
+    }
+
+    private long address;
+    private long sizeInBytes;
+    private Cleaner.Cleanable cleanable;
+
+    public OffHeapTranspositionTable(final int sizeInMegabytes) {
+        resize(sizeInMegabytes);
+    }
+
+    @Override
+    long loadCheck(final int index) {
+        return getLong(this.address + (long) index * ENTRY_BYTES);
+    }
+
+    @Override
+    long loadData(final int index) {
+        return getLong(this.address + (long) index * ENTRY_BYTES + Long.BYTES);
+    }
+
+    @Override
+    void storeEntry(final int index,
+                    final long check,
+                    final long data) {
+        final long entryAddress = this.address + (long) index * ENTRY_BYTES;
+        putLong(entryAddress, check);
+        putLong(entryAddress + Long.BYTES, data);
+    }
+
+    @Override
+    void allocateEntries(final int entryCount) {
+        //the old entries go first, so a resize never holds both tables
+        freeEntries();
+        final long bytes = (long) entryCount * ENTRY_BYTES;
+        final long newAddress;
+        try {
+            newAddress = (long) ALLOCATE_MEMORY.invokeExact(bytes);
+        } catch (final OutOfMemoryError e) {
+            throw new RuntimeException("Could not allocate " + (bytes >> 20) + " MB of native memory " +
+                    "for the off-heap transposition table", e);
+        } catch (final Throwable e) {
+            throw new RuntimeException(e);
+        }
+        this.address = newAddress;
+        this.sizeInBytes = bytes;
+        this.cleanable = CLEANER.register(this, () -> freeMemory(newAddress));
+        //native memory comes uninitialised
+        clearEntries();
+    }
+
+    @Override
+    void freeEntries() {
+        if (this.cleanable != null) {
+            this.cleanable.clean();
+            this.cleanable = null;
+            this.address = 0L;
+            this.sizeInBytes = 0L;
+        }
+    }
+
+    @Override
+    long maxEntries() {
+        return 1L << 30;
+    }
+
+    @Override
+    void clearEntries() {
+        try {
+            SET_MEMORY.invokeExact(this.address, this.sizeInBytes, (byte) 0);
+        } catch (final Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static long getLong(final long address) {
+        try {
+            return (long) GET_LONG.invokeExact(address);
+        } catch (final Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void putLong(final long address,
+                                final long value) {
+        try {
+            PUT_LONG.invokeExact(address, value);
+        } catch (final Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void freeMemory(final long address) {
+        try {
+            FREE_MEMORY.invokeExact(address);
+        } catch (final Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package chess.engine.player.ai;
+
+//usage: [depth] [hashMB]
+//nodes and time to a fixed depth on the perft positions with each forward pruning technique on its own,
+//all of them together, and none, so the savings of each can be measured separately
+public final class PruningBenchmark {
+
+    private static final int DEFAULT_DEPTH = 8;
+    private static final int DEFAULT_HASH_MEGABYTES = 64;
+
+    private PruningBenchmark() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    public static void main(final String[] args) {
+        final int depth = SearchBenchmark.intArgument(args, 0, DEFAULT_DEPTH);
+        final int hashMegabytes = SearchBenchmark.intArgument(args, 1, DEFAULT_HASH_MEGABYTES);
+        final SearchOptions none = options(hashMegabytes, false, false, false);
+        //one untimed pass so the first measurement is not paying for the jit
+        SearchBenchmark.runPositions(depth, none);
+        System.out.println("nodes to depth " + depth);
+        final long[] baseline = SearchBenchmark.runPositions(depth, none);
+        report("none", baseline, baseline);
+        report("null move", SearchBenchmark.runPositions(depth, options(hashMegabytes, true, false, false)), baseline);
+        report("late move reductions",
+                SearchBenchmark.runPositions(depth, options(hashMegabytes, false, true, false)), baseline);
+        report("futility", SearchBenchmark.runPositions(depth, options(hashMegabytes, false, false, true)), baseline);
+        report("all", SearchBenchmark.runPositions(depth, options(hashMegabytes, true, true, true)), baseline);
+    }
+
+    private static SearchOptions options(final int hashMegabytes,
+                                         final boolean nullMovePruning,
+                                         final boolean lateMoveReductions,
+                                         final boolean futilityPruning) {
+        return new SearchOptions.Builder()
+                .setHashMegabytes(hashMegabytes)
+                .setNullMovePruning(nullMovePruning)
+                .setLateMoveReductions(lateMoveReductions)
+                .setFutilityPruning(futilityPruning)
+                .build();
+    }
+
+    private static void report(final String name,
+                               final long[] totals,
+                               final long[] baseline) {
+        System.out.println(String.format("  %-22s %,14d nodes  %6.1f%% of none  %,8d ms", name, totals[1],
+                100.0 * totals[1] / Math.max(1L, baseline[1]), totals[0]));
+    }
+
+}
@@ -0,0 +1,15 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.MoveList;
+
+//one iteration of the root search, whatever runs underneath it
+interface RootSearch {
+
+    //searches the root moves in order, moving the best one to the front; NO_SCORE if stopped before any result
+    int searchRoot(MoveList rootMoves, int depth);
+
+    int[] getPrincipalVariation();
+
+    long getNodes();
+
+}
@@ -0,0 +1,79 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.Board;
+import chess.engine.perft.PerftPosition;
+
+//usage: [depth] [maxThreads] [hashMB] [offHeap]
+//time to reach a fixed depth on the perft positions for 1, 2, 4 ... maxThreads threads in each parallel
+//mode; speedup and node overhead are both measured against one thread of the same mode, as a single
+//young brothers wait thread does not search quite the same tree as the sequential search
+public final class SearchBenchmark {
+
+    private static final int DEFAULT_DEPTH = 7;
+    private static final int DEFAULT_MAX_THREADS = 32;
+    private static final int DEFAULT_HASH_MEGABYTES = 64;
+
+    private SearchBenchmark() {
+        throw new RuntimeException("Not instantiatable!");
+    }
+
+    public static void main(final String[] args) {
+        final int depth = intArgument(args, 0, DEFAULT_DEPTH);
+        final int maxThreads = intArgument(args, 1, DEFAULT_MAX_THREADS);
+        final SearchOptions.Builder builder = new SearchOptions.Builder()
+                .setHashMegabytes(intArgument(args, 2, DEFAULT_HASH_MEGABYTES))
+                .setOffHeapHash(args.length > 3 && Boolean.parseBoolean(args[3]));
+        //one untimed pass so the first measurement is not paying for the jit
+        runPositions(depth, options(builder, 1, SearchOptions.ParallelMode.LAZY_SMP));
+        runPositions(depth, options(builder, 1, SearchOptions.ParallelMode.YOUNG_BROTHERS_WAIT));
+        System.out.println("time to depth " + depth + ", " + Runtime.getRuntime().availableProcessors() + " cores");
+        for (final SearchOptions.ParallelMode parallelMode : SearchOptions.ParallelMode.values()) {
+            System.out.println(parallelMode);
+            final long[] baseline = runPositions(depth, options(builder, 1, parallelMode));
+            report(1, baseline, baseline);
+            for (int threads = 2; threads <= maxThreads; threads *= 2) {
+                report(threads, runPositions(depth, options(builder, threads, parallelMode)), baseline);
+            }
+        }
+    }
+
+    //returns {elapsed millis, nodes} summed over all positions
+    public static long[] runPositions(final int depth,
+                                      final SearchOptions options) {
+        long elapsedMillis = 0L;
+        long nodes = 0L;
+        for (final PerftPosition position : PerftPosition.values()) {
+            final Board board = position.createBoard();
+            //a fresh table per run so no configuration profits from an earlier one
+            final AlphaBetaSearch search = new AlphaBetaSearch(StandardBoardEvaluator.get(),
+                    new SearchLimits.Builder().setDepth(depth).build(), options);
+            final SearchResult result = search.search(board);
+            search.getTranspositionTable().free();
+            elapsedMillis += result.getElapsedMillis();
+            nodes += result.getNodes();
+        }
+        return new long[] {elapsedMillis, nodes};
+    }
+
+    private static SearchOptions options(final SearchOptions.Builder builder,
+                                         final int threads,
+                                         final SearchOptions.ParallelMode parallelMode) {
+        return builder.setThreads(threads).setParallelMode(parallelMode).build();
+    }
+
+    private static void report(final int threads,
+                               final long[] totals,
+                               final long[] baseline) {
+        final long millis = Math.max(1L, totals[0]);
+        System.out.println(String.format("  %2d threads: %,8d ms  speedup %5.2f  %,12d nodes  overhead %5.2f  %,10d nps",
+                threads, totals[0], (double) Math.max(1L, baseline[0]) / millis, totals[1],
+                (double) totals[1] / Math.max(1L, baseline[1]), totals[1] * 1000L / millis));
+    }
+
+    static int intArgument(final String[] args,
+                           final int index,
+                           final int defaultValue) {
+        return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+    }
+
+}
@@ -0,0 +1,47 @@
+package chess.engine.player.ai;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+//shared stop conditions of one search: an explicit stop, a node budget and a deadline
+final class SearchControl {
+
+    private final long maxNodes;
+    private final long deadlineNanos;
+    //nodes of all threads together, reported in batches so the counter is rarely contended
+    private final AtomicLong nodes;
+    private final StopSignal stopSignal;
+
+    SearchControl(final SearchLimits limits,
+                  final TimeManager timeManager,
+                  final StopSignal stopSignal,
+                  final long startNanos) {
+        this.maxNodes = limits.getNodes();
+        this.deadlineNanos = timeManager.getHardMillis() == SearchLimits.UNLIMITED ? Long.MAX_VALUE :
+                startNanos + timeManager.getHardMillis() * 1_000_000L;
+        this.nodes = new AtomicLong();
+        this.stopSignal = stopSignal;
+    }
+
+    void stop() {
+        this.stopSignal.stop();
+    }
+
+    boolean isStopped() {
+        return this.stopSignal.isStopped();
+    }
+
+    //as of the last time each thread reported its batch
+    long getNodes() {
+        return this.nodes.get();
+    }
+
+    boolean checkLimits(final long newNodes) {
+        final long totalNodes = this.nodes.addAndGet(newNodes);
+        if (!this.stopSignal.isStopped() &&
+            (totalNodes >= this.maxNodes || System.nanoTime() >= this.deadlineNanos)) {
+            this.stopSignal.stop();
+        }
+        return this.stopSignal.isStopped();
+    }
+
+}
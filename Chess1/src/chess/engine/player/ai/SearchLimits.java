@@ -0,0 +1,106 @@
+package chess.engine.player.ai;
+
+public final class SearchLimits {
+
+    public static final int MAX_DEPTH = 64;
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final int depth;
+    private final long nodes;
+    private final long timeMillis;
+    private final long remainingMillis;
+    private final long incrementMillis;
+
+    private SearchLimits(final Builder builder) {
+        this.depth = builder.depth;
+        this.nodes = builder.nodes;
+        this.timeMillis = builder.timeMillis;
+        this.remainingMillis = builder.remainingMillis;
+        this.incrementMillis = builder.incrementMillis;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    //whether the search budgets its own time from a game clock
+    public boolean hasClock() {
+        return this.remainingMillis != UNLIMITED;
+    }
+
+    public long getRemainingMillis() {
+        return this.remainingMillis;
+    }
+
+    public long getIncrementMillis() {
+        return this.incrementMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth +
+               (this.nodes == UNLIMITED ? "" : ", nodes " + this.nodes) +
+               (this.timeMillis == UNLIMITED ? "" : ", time " + this.timeMillis + "ms") +
+               (hasClock() ? ", clock " + this.remainingMillis + "+" + this.incrementMillis + "ms" : "");
+    }
+
+    public static class Builder {
+
+        int depth;
+        long nodes;
+        long timeMillis;
+        long remainingMillis;
+        long incrementMillis;
+
+        public Builder() {
+            this.depth = MAX_DEPTH;
+            this.nodes = UNLIMITED;
+            this.timeMillis = UNLIMITED;
+            this.remainingMillis = UNLIMITED;
+            this.incrementMillis = 0L;
+        }
+
+        public Builder setDepth(final int depth) {
+            if (depth < 1 || depth > MAX_DEPTH) {
+                throw new RuntimeException("Invalid search depth: " + depth);
+            }
+            this.depth = depth;
+            return this;
+        }
+
+        public Builder setNodes(final long nodes) {
+            this.nodes = nodes;
+            return this;
+        }
+
+        public Builder setTimeMillis(final long timeMillis) {
+            this.timeMillis = timeMillis;
+            return this;
+        }
+
+        //the mover's time left on the clock and what it gains per move
+        public Builder setClock(final long remainingMillis,
+                                final long incrementMillis) {
+            if (remainingMillis < 0 || incrementMillis < 0) {
+                throw new RuntimeException("Invalid clock: " + remainingMillis + "+" + incrementMillis);
+            }
+            this.remainingMillis = remainingMillis;
+            this.incrementMillis = incrementMillis;
+            return this;
+        }
+
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+
+    }
+
+}
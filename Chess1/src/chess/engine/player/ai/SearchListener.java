@@ -0,0 +1,10 @@
+package chess.engine.player.ai;
+
+//told about every completed iteration of a running search, on the thread that runs the search
+public interface SearchListener {
+
+    SearchListener NONE = result -> {};
+
+    void onIteration(SearchResult result);
+
+}
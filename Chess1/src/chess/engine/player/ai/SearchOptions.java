@@ -0,0 +1,141 @@
+package chess.engine.player.ai;
+
+public final class SearchOptions {
+
+    public static final int MAX_THREADS = 256;
+
+    public enum ParallelMode {
+        //helpers search the whole tree on their own and share only the transposition table
+        LAZY_SMP,
+        //the first move of a node is searched alone, its younger brothers are then split across threads
+        YOUNG_BROTHERS_WAIT
+    }
+
+    private final int hashMegabytes;
+    private final boolean offHeapHash;
+    private final int threads;
+    private final ParallelMode parallelMode;
+    private final boolean nullMovePruning;
+    private final boolean lateMoveReductions;
+    private final boolean futilityPruning;
+
+    private SearchOptions(final Builder builder) {
+        this.hashMegabytes = builder.hashMegabytes;
+        this.offHeapHash = builder.offHeapHash;
+        this.threads = builder.threads;
+        this.parallelMode = builder.parallelMode;
+        this.nullMovePruning = builder.nullMovePruning;
+        this.lateMoveReductions = builder.lateMoveReductions;
+        this.futilityPruning = builder.futilityPruning;
+    }
+
+    public static SearchOptions defaultOptions() {
+        return new Builder().build();
+    }
+
+    public int getHashMegabytes() {
+        return this.hashMegabytes;
+    }
+
+    //keeps a large table out of the garbage collector's way, see OffHeapTranspositionTable
+    public boolean isOffHeapHash() {
+        return this.offHeapHash;
+    }
+
+    public int getThreads() {
+        return this.threads;
+    }
+
+    public ParallelMode getParallelMode() {
+        return this.parallelMode;
+    }
+
+    public boolean isNullMovePruning() {
+        return this.nullMovePruning;
+    }
+
+    public boolean isLateMoveReductions() {
+        return this.lateMoveReductions;
+    }
+
+    //covers reverse futility pruning as well
+    public boolean isFutilityPruning() {
+        return this.futilityPruning;
+    }
+
+    @Override
+    public String toString() {
+        return "hash " + this.hashMegabytes + " MB" + (this.offHeapHash ? " off-heap" : "") +
+               ", threads " + this.threads + " " + this.parallelMode +
+               (this.nullMovePruning ? " nmp" : "") + (this.lateMoveReductions ? " lmr" : "") +
+               (this.futilityPruning ? " futility" : "");
+    }
+
+    public static class Builder {
+
+        int hashMegabytes;
+        boolean offHeapHash;
+        int threads;
+        ParallelMode parallelMode;
+        boolean nullMovePruning;
+        boolean lateMoveReductions;
+        boolean futilityPruning;
+
+        public Builder() {
+            this.hashMegabytes = AlphaBetaSearch.DEFAULT_HASH_MEGABYTES;
+            this.offHeapHash = false;
+            this.threads = 1;
+            this.parallelMode = ParallelMode.LAZY_SMP;
+            this.nullMovePruning = true;
+            this.lateMoveReductions = true;
+            this.futilityPruning = true;
+        }
+
+        public Builder setHashMegabytes(final int hashMegabytes) {
+            if (hashMegabytes < 1) {
+                throw new RuntimeException("Invalid hash size: " + hashMegabytes);
+            }
+            this.hashMegabytes = hashMegabytes;
+            return this;
+        }
+
+        public Builder setOffHeapHash(final boolean offHeapHash) {
+            this.offHeapHash = offHeapHash;
+            return this;
+        }
+
+        public Builder setThreads(final int threads) {
+            if (threads < 1 || threads > MAX_THREADS) {
+                throw new RuntimeException("Invalid thread count: " + threads);
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder setParallelMode(final ParallelMode parallelMode) {
+            this.parallelMode = parallelMode;
+            return this;
+        }
+
+        public Builder setNullMovePruning(final boolean nullMovePruning) {
+            this.nullMovePruning = nullMovePruning;
+            return this;
+        }
+
+        public Builder setLateMoveReductions(final boolean lateMoveReductions) {
+            this.lateMoveReductions = lateMoveReductions;
+            return this;
+        }
+
+        public Builder setFutilityPruning(final boolean futilityPruning) {
+            this.futilityPruning = futilityPruning;
+            return this;
+        }
+
+        public SearchOptions build() {
+            return new SearchOptions(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package chess.engine.player.ai;
+
+import java.util.List;
+
+import chess.engine.board.Move;
+
+public final class SearchResult {
+
+    private final Move bestMove;
+    private final int score;
+    private final int depth;
+    private final List<Move> principalVariation;
+    private final long nodes;
+    private final long elapsedMillis;
+
+    SearchResult(final Move bestMove,
+                 final int score,
+                 final int depth,
+                 final List<Move> principalVariation,
+                 final long nodes,
+                 final long elapsedMillis) {
+        this.bestMove = bestMove;
+        this.score = score;
+        this.depth = depth;
+        this.principalVariation = principalVariation;
+        this.nodes = nodes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    public int getScore() {
+        return this.score;
+    }
+
+    public int getDepth() {
+        return this.depth;
+    }
+
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    public long getElapsedMillis() {
+        return this.elapsedMillis;
+    }
+
+    public long getNodesPerSecond() {
+        return this.nodes * 1000L / Math.max(1L, this.elapsedMillis);
+    }
+
+    public boolean isMateScore() {
+        return Math.abs(this.score) >= AlphaBetaSearch.MATE_SCORE - SearchLimits.MAX_DEPTH * 2;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + this.depth + " score " + this.score + " nodes " + this.nodes +
+               " nps " + getNodesPerSecond() + " time " + this.elapsedMillis + "ms pv " + this.principalVariation;
+    }
+
+}
@@ -0,0 +1,503 @@
+package chess.engine.player.ai;
+
+import chess.engine.Alliance;
+import chess.engine.board.MoveEncoding;
+import chess.engine.board.MoveGenerator;
+import chess.engine.board.MoveList;
+import chess.engine.board.MovePicker;
+import chess.engine.board.MoveUtils;
+import chess.engine.board.MutableBoard;
+import chess.engine.pieces.Piece.PieceType;
+
+//one thread's negamax state: the board it makes moves on, per ply pickers and the triangular pv table
+final class SearchWorker
+        implements RootSearch {
+
+    static final int MAX_PLY = SearchLimits.MAX_DEPTH * 2;
+
+    //the limits are polled once every this many nodes
+    private static final int CHECK_INTERVAL_MASK = 2047;
+    //passing is only tried with at least a rook's worth of pieces, as zugzwang is rare then
+    private static final int NULL_MOVE_MIN_MATERIAL = PieceType.ROOK.getPieceValue();
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    //futility margins grow by this much per remaining ply
+    private static final int FUTILITY_MARGIN = 120;
+    private static final int FUTILITY_MAX_DEPTH = 3;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    //this many moves are always searched at full depth
+    private static final int LATE_MOVE_FULL_MOVES = 3;
+    private static final int[][] LATE_MOVE_REDUCTIONS = initLateMoveReductions();
+    private static final PieceType[] NON_PAWN_TYPES = {PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK,
+            PieceType.QUEEN};
+
+    private final MutableBoard board;
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final SearchControl control;
+    private final SearchOptions options;
+    private final MovePicker[] pickers;
+    //scratch space of the static exchange evaluation, reused by every capture this worker looks at
+    private final int[] exchangeGains;
+    private final MoveOrdering ordering;
+    //quiet moves searched so far at each ply, penalised in the history when a later one fails high
+    private final MoveList[] triedQuiets;
+    private final int[][] pvTable;
+    private final int[] pvLength;
+    private int[] previousPv;
+    //whether the line from the root to each ply is still the previous iteration's principal variation
+    private final boolean[] followsPv;
+    private long nodes;
+    //set while this worker searches below a young brothers split point, whose cutoff also stops it
+    private SplitPoint splitPoint;
+
+    SearchWorker(final MutableBoard board,
+                 final BoardEvaluator evaluator,
+                 final TranspositionTable transpositionTable,
+                 final SearchControl control,
+                 final SearchOptions options) {
+        this.board = board;
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.control = control;
+        this.options = options;
+        this.pickers = new MovePicker[MAX_PLY];
+        this.triedQuiets = new MoveList[MAX_PLY];
+        for (int ply = 0; ply < MAX_PLY; ply++) {
+            this.pickers[ply] = new MovePicker(board.getBitBoard());
+            this.triedQuiets[ply] = new MoveList();
+        }
+        this.exchangeGains = new int[MoveUtils.MAX_EXCHANGES];
+        this.ordering = new MoveOrdering(MAX_PLY);
+        this.pvTable = new int[MAX_PLY][MAX_PLY];
+        this.pvLength = new int[MAX_PLY];
+        this.previousPv = new int[0];
+        this.followsPv = new boolean[MAX_PLY];
+        this.nodes = 0L;
+    }
+
+    @Override
+    public long getNodes() {
+        return this.nodes;
+    }
+
+    @Override
+    public int[] getPrincipalVariation() {
+        return getPrincipalVariation(0);
+    }
+
+    int[] getPrincipalVariation(final int ply) {
+        final int[] principalVariation = new int[this.pvLength[ply]];
+        System.arraycopy(this.pvTable[ply], 0, principalVariation, 0, principalVariation.length);
+        return principalVariation;
+    }
+
+    void setPrincipalVariation(final int ply,
+                               final int[] principalVariation) {
+        System.arraycopy(principalVariation, 0, this.pvTable[ply], 0, principalVariation.length);
+        this.pvLength[ply] = principalVariation.length;
+    }
+
+    MutableBoard getBoard() {
+        return this.board;
+    }
+
+    SplitPoint getSplitPoint() {
+        return this.splitPoint;
+    }
+
+    void setSplitPoint(final SplitPoint splitPoint) {
+        this.splitPoint = splitPoint;
+    }
+
+    boolean isAborted() {
+        return this.control.isStopped() || (this.splitPoint != null && this.splitPoint.isCancelled());
+    }
+
+    //counts a node and polls the search limits every few thousand nodes
+    boolean visitNode() {
+        return (++this.nodes & CHECK_INTERVAL_MASK) == 0 && this.control.checkLimits(CHECK_INTERVAL_MASK + 1);
+    }
+
+    //takes the board back to the root and plays the given line from there
+    void positionAt(final int[] line) {
+        while (this.board.getUndoDepth() > 0) {
+            this.board.unmakeMove();
+        }
+        for (final int move : line) {
+            this.board.makeMove(move);
+        }
+    }
+
+    void newIteration() {
+        this.ordering.age();
+    }
+
+    //every legal move of the current position in the order the move picker hands them out
+    MoveList orderedMoves(final int ply,
+                          final int hashMove) {
+        final MovePicker picker = picker(ply, hashMove);
+        final MoveList moves = new MoveList();
+        int move;
+        while ((move = picker.nextMove()) != MoveEncoding.NULL_MOVE) {
+            moves.add(move);
+        }
+        return moves;
+    }
+
+    @Override
+    public int searchRoot(final MoveList rootMoves,
+                          final int depth) {
+        this.previousPv = getPrincipalVariation();
+        this.pvLength[0] = 0;
+        newIteration();
+        int alpha = -AlphaBetaSearch.INFINITY;
+        final int beta = AlphaBetaSearch.INFINITY;
+        for (int i = 0; i < rootMoves.size(); i++) {
+            final int move = rootMoves.get(i);
+            this.followsPv[1] = this.previousPv.length > 0 && move == this.previousPv[0];
+            this.board.makeMove(move);
+            int score;
+            if (i == 0) {
+                score = -search(depth - 1, -beta, -alpha, 1);
+            } else {
+                score = -search(depth - 1, -alpha - 1, -alpha, 1);
+                if (score > alpha && score < beta) {
+                    score = -search(depth - 1, -beta, -alpha, 1);
+                }
+            }
+            this.board.unmakeMove();
+            if (this.control.isStopped()) {
+                break;
+            }
+            if (score > alpha) {
+                alpha = score;
+                updatePrincipalVariation(0, move);
+                //the best move leads the next iteration
+                for (int j = i; j > 0; j--) {
+                    rootMoves.swap(j, j - 1);
+                }
+            }
+        }
+        return this.pvLength[0] == 0 ? AlphaBetaSearch.NO_SCORE : alpha;
+    }
+
+    int search(final int depth,
+               int alpha,
+               final int beta,
+               final int ply) {
+        if (visitNode()) {
+            return 0;
+        }
+        this.pvLength[ply] = 0;
+        if (this.board.isRepetition()) {
+            return AlphaBetaSearch.DRAW_SCORE;
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return quiescence(alpha, beta, ply);
+        }
+        final long zobristKey = this.board.getZobristKey();
+        final boolean isPvNode = beta - alpha > 1;
+        //the previous pv only says anything about the line it was found on
+        final boolean isOnPv = this.followsPv[ply] && ply < this.previousPv.length;
+        int hashMove = isOnPv ? this.previousPv[ply] : MoveEncoding.NULL_MOVE;
+        final long entry = probeTable();
+        if (entry != TranspositionTable.NOT_FOUND) {
+            if (TranspositionTable.getMove(entry) != MoveEncoding.NULL_MOVE) {
+                hashMove = TranspositionTable.getMove(entry);
+            }
+            //pv nodes always search so the principal variation stays complete
+            if (!isPvNode) {
+                final int score = tableCutoff(entry, depth, alpha, beta, ply);
+                if (score != AlphaBetaSearch.NO_SCORE) {
+                    return score;
+                }
+            }
+        }
+        final int originalAlpha = alpha;
+        final Alliance sideToMove = this.board.getSideToMove();
+        final boolean isInCheck = this.board.isInCheck(sideToMove);
+        //forward pruning only where a wrong guess cannot corrupt the principal variation
+        final boolean canPrune = !isPvNode && !isInCheck;
+        final int staticEval = canPrune ? this.evaluator.evaluate(this.board.getBitBoard()) : 0;
+        if (canPrune) {
+            final int score = pruneNode(depth, beta, ply, staticEval);
+            if (score != AlphaBetaSearch.NO_SCORE) {
+                return score;
+            }
+        }
+        final boolean isFutile = canPrune && isFutile(depth, alpha, staticEval);
+        final MovePicker picker = picker(ply, hashMove);
+        final MoveList quiets = this.triedQuiets[ply];
+        quiets.clear();
+        int bestScore = -AlphaBetaSearch.INFINITY;
+        int bestMove = MoveEncoding.NULL_MOVE;
+        int moveCount = 0;
+        int move;
+        while ((move = picker.nextMove()) != MoveEncoding.NULL_MOVE) {
+            this.followsPv[ply + 1] = isOnPv && move == this.previousPv[ply];
+            this.board.makeMove(move);
+            moveCount++;
+            final boolean isQuiet = !MoveGenerator.isNoisyMove(move) && !isInCheck &&
+                                    !this.board.isInCheck(sideToMove.getOpponent());
+            if (isFutile && isQuiet && moveCount > 1) {
+                this.board.unmakeMove();
+                continue;
+            }
+            int score;
+            if (moveCount == 1) {
+                score = -search(depth - 1, -beta, -alpha, ply + 1);
+            } else {
+                //later moves are ordered worse, so they are first searched shallower
+                final int reduction = isQuiet ? lateMoveReduction(depth, moveCount) : 0;
+                //every later move only has to prove it is no better than the first
+                score = -search(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1);
+                if (reduction > 0 && score > alpha) {
+                    score = -search(depth - 1, -alpha - 1, -alpha, ply + 1);
+                }
+                if (score > alpha && score < beta) {
+                    score = -search(depth - 1, -beta, -alpha, ply + 1);
+                }
+            }
+            this.board.unmakeMove();
+            if (isAborted()) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    bestMove = move;
+                    updatePrincipalVariation(ply, move);
+                    if (score >= beta) {
+                        this.ordering.recordCutoff(sideToMove, move, this.board.getLastMove(), quiets, depth, ply);
+                        break;
+                    }
+                }
+            }
+            if (!MoveGenerator.isNoisyMove(move)) {
+                quiets.add(move);
+            }
+        }
+        if (moveCount == 0) {
+            return isInCheck ? -AlphaBetaSearch.MATE_SCORE + ply : AlphaBetaSearch.DRAW_SCORE;
+        }
+        storeResult(zobristKey, bestMove, bestScore, originalAlpha, beta, depth, ply);
+        return bestScore;
+    }
+
+    //resolves captures and promotions until the position is quiet enough for the evaluation to be trusted
+    private int quiescence(int alpha,
+                           final int beta,
+                           final int ply) {
+        if (visitNode()) {
+            return 0;
+        }
+        this.pvLength[ply] = 0;
+        final Alliance sideToMove = this.board.getSideToMove();
+        //in check there is no standing pat: every evasion is searched
+        final boolean isInCheck = this.board.isInCheck(sideToMove);
+        if (ply >= MAX_PLY - 1) {
+            return this.evaluator.evaluate(this.board.getBitBoard());
+        }
+        int bestScore = -AlphaBetaSearch.INFINITY;
+        if (!isInCheck) {
+            bestScore = this.evaluator.evaluate(this.board.getBitBoard());
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        final MovePicker picker = isInCheck ? picker(ply, MoveEncoding.NULL_MOVE) :
+                this.pickers[ply].resetNoisy(sideToMove);
+        int moveCount = 0;
+        int move;
+        while ((move = picker.nextMove()) != MoveEncoding.NULL_MOVE) {
+            moveCount++;
+            //a capture that loses material in the exchange cannot raise alpha over the stand pat
+            if (!isInCheck && !MoveEncoding.isPromotion(move) &&
+                MoveUtils.exchangeScore(this.board.getBitBoard(), move, this.exchangeGains) < 0) {
+                continue;
+            }
+            this.board.makeMove(move);
+            final int score = -quiescence(-beta, -alpha, ply + 1);
+            this.board.unmakeMove();
+            if (isAborted()) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(ply, move);
+                    if (score >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (isInCheck && moveCount == 0) {
+            return -AlphaBetaSearch.MATE_SCORE + ply;
+        }
+        return bestScore;
+    }
+
+    //reverse futility and null move pruning at a non-pv node that is not in check; NO_SCORE to search it
+    int pruneNode(final int depth,
+                  final int beta,
+                  final int ply,
+                  final int staticEval) {
+        //so far above beta that the opponent cannot get back in the plies that are left
+        if (this.options.isFutilityPruning() && depth <= FUTILITY_MAX_DEPTH &&
+            staticEval - FUTILITY_MARGIN * depth >= beta) {
+            return staticEval;
+        }
+        //if passing still fails high, a real move almost surely would too; never two passes in a row
+        if (this.options.isNullMovePruning() && depth >= NULL_MOVE_MIN_DEPTH && staticEval >= beta &&
+            this.board.getLastMove() != MoveEncoding.NULL_MOVE &&
+            nonPawnMaterial(this.board.getSideToMove()) >= NULL_MOVE_MIN_MATERIAL) {
+            final int reduction = depth > 6 ? 3 : 2;
+            this.followsPv[ply + 1] = false;
+            this.board.makeNullMove();
+            final int score = -search(depth - 1 - reduction, -beta, -beta + 1, ply + 1);
+            this.board.unmakeMove();
+            if (isAborted()) {
+                return 0;
+            }
+            if (score >= beta) {
+                //a mate found after passing is not a proven mate
+                return score >= AlphaBetaSearch.MATE_SCORE - MAX_PLY ? beta : score;
+            }
+        }
+        return AlphaBetaSearch.NO_SCORE;
+    }
+
+    private int nonPawnMaterial(final Alliance alliance) {
+        int material = 0;
+        for (final PieceType pieceType : NON_PAWN_TYPES) {
+            material += Long.bitCount(this.board.getBitBoard().getPieces(pieceType, alliance)) * pieceType.getPieceValue();
+        }
+        return material;
+    }
+
+    //quiet moves this far below alpha cannot catch up in the plies that are left
+    boolean isFutile(final int depth,
+                     final int alpha,
+                     final int staticEval) {
+        return this.options.isFutilityPruning() && depth <= FUTILITY_MAX_DEPTH &&
+               staticEval + FUTILITY_MARGIN * depth <= alpha;
+    }
+
+    int lateMoveReduction(final int depth,
+                          final int moveCount) {
+        if (!this.options.isLateMoveReductions() || depth < LATE_MOVE_MIN_DEPTH || moveCount <= LATE_MOVE_FULL_MOVES) {
+            return 0;
+        }
+        final int reduction = LATE_MOVE_REDUCTIONS[Math.min(depth, MAX_PLY - 1)][Math.min(moveCount, MAX_PLY - 1)];
+        //always leave at least one ply to search
+        return Math.min(reduction, depth - 2);
+    }
+
+    //grows with the log of both the depth and the move's rank in the ordering
+    private static int[][] initLateMoveReductions() {
+        final int[][] reductions = new int[MAX_PLY][MAX_PLY];
+        for (int depth = 1; depth < MAX_PLY; depth++) {
+            for (int moveCount = 1; moveCount < MAX_PLY; moveCount++) {
+                reductions[depth][moveCount] = (int) (0.5 + Math.log(depth) * Math.log(moveCount) / 2.0);
+            }
+        }
+        return reductions;
+    }
+
+    //ordered hash move, captures, killers and countermove, then quiets by history
+    private MovePicker picker(final int ply,
+                              final int hashMove) {
+        final Alliance sideToMove = this.board.getSideToMove();
+        return this.pickers[ply]
+                .reset(sideToMove, hashMove, this.ordering.orderingMoves(ply, this.board.getLastMove()))
+                .setHistory(this.ordering.getHistory(sideToMove));
+    }
+
+    //a cutoff found by a split node, whose younger brothers ran on other workers; the quiets ordered
+    //before the cutoff move were searched before or alongside it and are penalised as in search
+    void recordCutoff(final MoveList moves,
+                      final int cutoffIndex,
+                      final int depth,
+                      final int ply) {
+        final MoveList quiets = this.triedQuiets[ply];
+        quiets.clear();
+        for (int i = 0; i < cutoffIndex; i++) {
+            if (!MoveGenerator.isNoisyMove(moves.get(i))) {
+                quiets.add(moves.get(i));
+            }
+        }
+        this.ordering.recordCutoff(this.board.getSideToMove(), moves.get(cutoffIndex), this.board.getLastMove(),
+                quiets, depth, ply);
+    }
+
+    long probeTable() {
+        return this.transpositionTable.probe(this.board.getZobristKey());
+    }
+
+    //the stored score if the entry is deep enough and its bound settles the window, NO_SCORE otherwise
+    static int tableCutoff(final long entry,
+                           final int depth,
+                           final int alpha,
+                           final int beta,
+                           final int ply) {
+        if (TranspositionTable.getDepth(entry) < depth) {
+            return AlphaBetaSearch.NO_SCORE;
+        }
+        final int score = scoreFromTable(TranspositionTable.getScore(entry), ply);
+        final int bound = TranspositionTable.getBound(entry);
+        if (bound == TranspositionTable.EXACT_BOUND ||
+            (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+            (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+            return score;
+        }
+        return AlphaBetaSearch.NO_SCORE;
+    }
+
+    void storeResult(final long zobristKey,
+                     final int bestMove,
+                     final int bestScore,
+                     final int originalAlpha,
+                     final int beta,
+                     final int depth,
+                     final int ply) {
+        final int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+                bestScore > originalAlpha ? TranspositionTable.EXACT_BOUND : TranspositionTable.UPPER_BOUND;
+        this.transpositionTable.store(zobristKey, bestMove, scoreToTable(bestScore, ply), depth, bound);
+    }
+
+    //mate scores are stored relative to the node, not the root, so they stay valid at any ply
+    private static int scoreToTable(final int score,
+                                    final int ply) {
+        if (score >= AlphaBetaSearch.MATE_SCORE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -AlphaBetaSearch.MATE_SCORE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    private static int scoreFromTable(final int score,
+                                      final int ply) {
+        if (score >= AlphaBetaSearch.MATE_SCORE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -AlphaBetaSearch.MATE_SCORE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    private void updatePrincipalVariation(final int ply,
+                                          final int move) {
+        this.pvTable[ply][0] = move;
+        final int childLength = ply + 1 < MAX_PLY ? this.pvLength[ply + 1] : 0;
+        System.arraycopy(this.pvTable[ply + 1], 0, this.pvTable[ply], 1, childLength);
+        this.pvLength[ply] = childLength + 1;
+    }
+
+}
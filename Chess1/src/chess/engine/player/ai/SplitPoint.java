@@ -0,0 +1,81 @@
+package chess.engine.player.ai;
+
+import chess.engine.board.MoveEncoding;
+
+//a node whose younger brothers are searched in parallel; a beta cutoff here cancels every search below it
+final class SplitPoint {
+
+    private final SplitPoint parent;
+    private final int beta;
+    private volatile int alpha;
+    private volatile boolean cutoff;
+    private int bestScore;
+    private int bestMove;
+    private int bestIndex;
+    private int[] principalVariation;
+
+    SplitPoint(final SplitPoint parent,
+               final int alpha,
+               final int beta) {
+        this.parent = parent;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.cutoff = false;
+        this.bestScore = -AlphaBetaSearch.INFINITY;
+        this.bestMove = MoveEncoding.NULL_MOVE;
+        this.bestIndex = -1;
+        this.principalVariation = new int[0];
+    }
+
+    int getAlpha() {
+        return this.alpha;
+    }
+
+    int getBeta() {
+        return this.beta;
+    }
+
+    boolean isCancelled() {
+        return this.cutoff || (this.parent != null && this.parent.isCancelled());
+    }
+
+    synchronized int getBestScore() {
+        return this.bestScore;
+    }
+
+    synchronized int getBestMove() {
+        return this.bestMove;
+    }
+
+    synchronized int getBestIndex() {
+        return this.bestIndex;
+    }
+
+    synchronized int[] getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    //records a finished child; the child's pv starts one ply below this node
+    synchronized void update(final int move,
+                             final int moveIndex,
+                             final int score,
+                             final int[] childPrincipalVariation) {
+        if (score <= this.bestScore) {
+            return;
+        }
+        this.bestScore = score;
+        if (score > this.alpha) {
+            this.alpha = score;
+            this.bestMove = move;
+            this.bestIndex = moveIndex;
+            final int[] line = new int[childPrincipalVariation.length + 1];
+            line[0] = move;
+            System.arraycopy(childPrincipalVariation, 0, line, 1, childPrincipalVariation.length);
+            this.principalVariation = line;
+            if (score >= this.beta) {
+                this.cutoff = true;
+            }
+        }
+    }
+
+}
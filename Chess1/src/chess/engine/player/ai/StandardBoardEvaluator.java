@@ -0,0 +1,66 @@
+package chess.engine.player.ai;
+
+import chess.engine.Alliance;
+import chess.engine.board.BitBoard;
+import chess.engine.pieces.Piece.PieceType;
+
+public final class StandardBoardEvaluator
+        implements BoardEvaluator {
+
+    private static final int BISHOP_PAIR_BONUS = 25;
+    private static final StandardBoardEvaluator INSTANCE = new StandardBoardEvaluator();
+
+    private StandardBoardEvaluator() {
+    }
+
+    public static StandardBoardEvaluator get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public int evaluate(final BitBoard bitBoard) {
+        final int score = score(bitBoard, Alliance.WHITE) - score(bitBoard, Alliance.BLACK);
+        return bitBoard.getSideToMove().isWhite() ? score : -score;
+    }
+
+    private static int score(final BitBoard bitBoard,
+                             final Alliance alliance) {
+        int score = 0;
+        for (final PieceType pieceType : PieceType.values()) {
+            long pieces = bitBoard.getPieces(pieceType, alliance);
+            //the king is never traded, so only its square counts
+            final int pieceValue = pieceType == PieceType.KING ? 0 : pieceType.getPieceValue();
+            while (pieces != 0) {
+                final int coordinate = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                score += pieceValue + locationBonus(pieceType, alliance, coordinate);
+            }
+        }
+        if (Long.bitCount(bitBoard.getPieces(PieceType.BISHOP, alliance)) >= 2) {
+            score += BISHOP_PAIR_BONUS;
+        }
+        return score;
+    }
+
+    private static int locationBonus(final PieceType pieceType,
+                                     final Alliance alliance,
+                                     final int coordinate) {
+        switch (pieceType) {
+            case PAWN:
+                return alliance.pawnBonus(coordinate);
+            case KNIGHT:
+                return alliance.knightBonus(coordinate);
+            case BISHOP:
+                return alliance.bishopBonus(coordinate);
+            case ROOK:
+                return alliance.rookBonus(coordinate);
+            case QUEEN:
+                return alliance.queenBonus(coordinate);
+            case KING:
+                return alliance.kingBonus(coordinate);
+            default:
+                throw new RuntimeException("Should not reach here!");
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package chess.engine.player.ai;
+
+//lets the caller stop a search it has handed to another thread, even before that search has started
+public final class StopSignal {
+
+    private volatile boolean stopped;
+
+    public StopSignal() {
+        this.stopped = false;
+    }
+
+    public void stop() {
+        this.stopped = true;
+    }
+
+    public boolean isStopped() {
+        return this.stopped;
+    }
+
+}
@@ -0,0 +1,85 @@
+package chess.engine.player.ai;
+
+//budgets one move's search from the clock: no new iteration starts past the soft limit, which grows
+//while the best move keeps changing or the score drops and shrinks once the best move has settled;
+//the hard limit stops a running iteration and always leaves time on the clock
+final class TimeManager {
+
+    //assumed moves left in the game, as the clock gives no hint
+    private static final int MOVES_TO_GO = 30;
+    //kept back for the hand-off to the gui and for the clock ticking while the move is played
+    private static final long OVERHEAD_MILLIS = 100L;
+    //a single move may use this share of the clock at most
+    private static final int MAX_SHARE_DIVISOR = 5;
+    private static final int HARD_TO_SOFT_RATIO = 4;
+    //a score this much below the last iteration's counts as a fail low
+    private static final int FAIL_LOW_MARGIN = 30;
+    private static final double FAIL_LOW_SCALE = 1.5;
+    private static final double CHANGE_SCALE = 0.5;
+    private static final int EASY_MOVE_ITERATIONS = 6;
+    private static final double EASY_MOVE_SCALE = 0.4;
+
+    private final boolean hasClock;
+    private final long softMillis;
+    private final long hardMillis;
+    private int previousBestMove;
+    private int previousScore;
+    private int stableIterations;
+    //decays every iteration, so only recent best move changes keep extending the budget
+    private double instability;
+
+    TimeManager(final SearchLimits limits) {
+        this.hasClock = limits.hasClock();
+        if (this.hasClock) {
+            final long available = Math.max(1L, limits.getRemainingMillis() - OVERHEAD_MILLIS);
+            final long maxMillis = Math.max(1L, available / MAX_SHARE_DIVISOR + limits.getIncrementMillis() / 2);
+            final long budget = available / MOVES_TO_GO + limits.getIncrementMillis() * 3 / 4;
+            this.softMillis = Math.min(Math.min(budget, maxMillis), limits.getTimeMillis());
+            //the increment only arrives after the move, so it never counts towards the hard limit
+            this.hardMillis = Math.min(Math.min(this.softMillis * HARD_TO_SOFT_RATIO, maxMillis), available);
+        } else {
+            this.softMillis = limits.getTimeMillis();
+            this.hardMillis = limits.getTimeMillis();
+        }
+        this.previousBestMove = 0;
+        this.previousScore = 0;
+        this.stableIterations = 0;
+        this.instability = 0.0;
+    }
+
+    long getSoftMillis() {
+        return this.softMillis;
+    }
+
+    long getHardMillis() {
+        return this.hardMillis;
+    }
+
+    //called after every completed iteration; true once another iteration is not worth starting
+    boolean isDone(final int depth,
+                   final int bestMove,
+                   final int score,
+                   final long elapsedMillis) {
+        final boolean isFailLow = depth > 1 && score <= this.previousScore - FAIL_LOW_MARGIN;
+        this.instability *= 0.5;
+        if (depth > 1 && bestMove != this.previousBestMove) {
+            this.instability += 1.0;
+            this.stableIterations = 0;
+        } else {
+            this.stableIterations++;
+        }
+        this.previousBestMove = bestMove;
+        this.previousScore = score;
+        if (!this.hasClock) {
+            return false;
+        }
+        double scale = 1.0 + CHANGE_SCALE * this.instability;
+        if (isFailLow) {
+            scale *= FAIL_LOW_SCALE;
+        } else if (this.stableIterations >= EASY_MOVE_ITERATIONS) {
+            scale *= EASY_MOVE_SCALE;
+        }
+        return elapsedMillis >= Math.min(this.hardMillis, (long) (this.softMillis * scale));
+    }
+
+}
@@ -0,0 +1,179 @@
+package chess.engine.player.ai;
+
+//position hash -> (move, score, depth, bound) table shared by every search thread without locking.
+//entries are two longs (key ^ data, data): a torn write from a racing thread fails verification and reads as a miss.
+//data bits: 0-23 move, 24-45 score, 46-53 depth, 54-55 bound, 56-63 age
+public abstract class TranspositionTable {
+
+    public static final long NOT_FOUND = 0L;
+
+    public static final int EXACT_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    //four entries of two longs fill one 64 byte cache line
+    static final int BUCKET_ENTRIES = 4;
+    static final int ENTRY_BYTES = 2 * Long.BYTES;
+
+    private static final int MOVE_MASK = 0xFFFFFF;
+    private static final int SCORE_SHIFT = 24;
+    private static final int SCORE_BITS = 22;
+    private static final int DEPTH_SHIFT = SCORE_SHIFT + SCORE_BITS;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_SHIFT = DEPTH_SHIFT + 8;
+    private static final int BOUND_MASK = 0x3;
+    private static final int AGE_SHIFT = BOUND_SHIFT + 2;
+    private static final int AGE_MASK = 0xFF;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    //an entry from an older search loses this much depth when picking what to overwrite
+    private static final int AGE_PENALTY = 8;
+
+    private int bucketMask;
+    private int sizeInMegabytes;
+    private volatile int age;
+
+    //raw storage of one entry; index counts entries, not longs
+    abstract long loadCheck(int index);
+    abstract long loadData(int index);
+    abstract void storeEntry(int index, long check, long data);
+    abstract void clearEntries();
+    //drops the current entries and makes room for entryCount empty ones
+    abstract void allocateEntries(int entryCount);
+    abstract void freeEntries();
+    abstract long maxEntries();
+
+    public static TranspositionTable create(final int sizeInMegabytes,
+                                            final boolean offHeap) {
+        return offHeap ? new OffHeapTranspositionTable(sizeInMegabytes) : new HeapTranspositionTable(sizeInMegabytes);
+    }
+
+    //not safe while a search is running
+    public void resize(final int sizeInMegabytes) {
+        if (sizeInMegabytes < 1) {
+            throw new RuntimeException("transposition table needs at least 1 MB");
+        }
+        final long requestedBuckets = ((long) sizeInMegabytes << 20) / (BUCKET_ENTRIES * ENTRY_BYTES);
+        final int bucketCount = (int) Long.highestOneBit(Math.min(requestedBuckets, maxEntries() / BUCKET_ENTRIES));
+        allocateEntries(bucketCount * BUCKET_ENTRIES);
+        this.bucketMask = bucketCount - 1;
+        this.sizeInMegabytes = sizeInMegabytes;
+        this.age = 0;
+    }
+
+    //gives the memory back now rather than when the table is collected; not safe while a search is
+    //running, and the table cannot be used again until it is resized
+    public void free() {
+        freeEntries();
+    }
+
+    public long probe(final long key) {
+        final int firstIndex = firstIndex(key);
+        for (int i = firstIndex; i < firstIndex + BUCKET_ENTRIES; i++) {
+            final long data = loadData(i);
+            if (data != NOT_FOUND && (loadCheck(i) ^ data) == key) {
+                return data;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    public void store(final long key,
+                      final int move,
+                      final int score,
+                      final int depth,
+                      final int bound) {
+        final int currentAge = this.age;
+        final int firstIndex = firstIndex(key);
+        int replaceIndex = firstIndex;
+        int replaceWorth = Integer.MAX_VALUE;
+        int storedMove = move;
+        for (int i = firstIndex; i < firstIndex + BUCKET_ENTRIES; i++) {
+            final long data = loadData(i);
+            if (data == NOT_FOUND || (loadCheck(i) ^ data) == key) {
+                //a result without a move keeps the move already known for this position
+                if (move == 0 && data != NOT_FOUND) {
+                    storedMove = getMove(data);
+                }
+                replaceIndex = i;
+                break;
+            }
+            final int worth = getDepth(data) - AGE_PENALTY * ((currentAge - getAge(data)) & AGE_MASK);
+            if (worth < replaceWorth) {
+                replaceWorth = worth;
+                replaceIndex = i;
+            }
+        }
+        final long data = pack(storedMove, score, depth, bound, currentAge);
+        storeEntry(replaceIndex, key ^ data, data);
+    }
+
+    //called once per search so entries of earlier searches become the first to go
+    public void newSearch() {
+        this.age = (this.age + 1) & AGE_MASK;
+    }
+
+    public void clear() {
+        clearEntries();
+        this.age = 0;
+    }
+
+    //permille of the first thousand entries written by the current search
+    public int hashfull() {
+        final int currentAge = this.age;
+        final int sample = Math.min(1000, getEntryCount());
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            final long data = loadData(i);
+            if (data != NOT_FOUND && getAge(data) == currentAge) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    public int getEntryCount() {
+        return (this.bucketMask + 1) * BUCKET_ENTRIES;
+    }
+
+    public int getSizeInMegabytes() {
+        return this.sizeInMegabytes;
+    }
+
+    public static int getMove(final long data) {
+        return (int) data & MOVE_MASK;
+    }
+
+    public static int getScore(final long data) {
+        //shift left then arithmetic right to restore the sign
+        return (int) ((data >> SCORE_SHIFT) << (64 - SCORE_BITS) >> (64 - SCORE_BITS));
+    }
+
+    public static int getDepth(final long data) {
+        return (int) (data >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    public static int getBound(final long data) {
+        return (int) (data >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    static int getAge(final long data) {
+        return (int) (data >>> AGE_SHIFT) & AGE_MASK;
+    }
+
+    private static long pack(final int move,
+                             final int score,
+                             final int depth,
+                             final int bound,
+                             final int age) {
+        return (move & MOVE_MASK) |
+               ((score & SCORE_MASK) << SCORE_SHIFT) |
+               ((long) (depth & DEPTH_MASK) << DEPTH_SHIFT) |
+               ((long) bound << BOUND_SHIFT) |
+               ((long) age << AGE_SHIFT);
+    }
+
+    private int firstIndex(final long key) {
+        return ((int) (key ^ (key >>> 32)) & this.bucketMask) * BUCKET_ENTRIES;
+    }
+
+}
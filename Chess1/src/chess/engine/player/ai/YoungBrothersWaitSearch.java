@@ -0,0 +1,295 @@
+package chess.engine.player.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import chess.engine.board.Board;
+import chess.engine.board.MoveEncoding;
+import chess.engine.board.MoveGenerator;
+import chess.engine.board.MoveList;
+import chess.engine.board.MutableBoard;
+
+//young brothers wait: a node's first move is searched alone, then its remaining moves are forked as
+//fork/join tasks that share the node's alpha and are cancelled as soon as one of them fails high
+final class YoungBrothersWaitSearch
+        implements RootSearch {
+
+    //shallower subtrees are not worth a task and are searched sequentially
+    private static final int MIN_SPLIT_DEPTH = 3;
+    private static final int[] ROOT_LINE = {};
+
+    private final Board rootBoard;
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable transpositionTable;
+    private final SearchControl control;
+    private final SearchOptions options;
+    //null with one thread: siblings then run one after another in move order, so runs are repeatable
+    private final ForkJoinPool pool;
+    //a worker owns a board, so every running task needs its own; joins can nest tasks on one thread
+    private final Queue<SearchWorker> idleWorkers;
+    private final List<SearchWorker> workers;
+    private int[] principalVariation;
+
+    YoungBrothersWaitSearch(final Board rootBoard,
+                            final BoardEvaluator evaluator,
+                            final TranspositionTable transpositionTable,
+                            final SearchControl control,
+                            final SearchOptions options) {
+        this.rootBoard = rootBoard;
+        this.evaluator = evaluator;
+        this.transpositionTable = transpositionTable;
+        this.control = control;
+        this.options = options;
+        this.pool = options.getThreads() > 1 ? new ForkJoinPool(options.getThreads()) : null;
+        this.idleWorkers = new ConcurrentLinkedQueue<>();
+        this.workers = new CopyOnWriteArrayList<>();
+        this.principalVariation = ROOT_LINE;
+    }
+
+    @Override
+    public int searchRoot(final MoveList rootMoves,
+                          final int depth) {
+        for (final SearchWorker worker : this.workers) {
+            worker.newIteration();
+        }
+        final ForkJoinTask<SplitPoint> task = ForkJoinTask.adapt(() -> searchRootMoves(rootMoves, depth));
+        final SplitPoint splitPoint = this.pool != null ? this.pool.invoke(task) : task.invoke();
+        if (splitPoint.getBestIndex() < 0) {
+            return AlphaBetaSearch.NO_SCORE;
+        }
+        //the best move leads the next iteration
+        for (int i = splitPoint.getBestIndex(); i > 0; i--) {
+            rootMoves.swap(i, i - 1);
+        }
+        this.principalVariation = splitPoint.getPrincipalVariation();
+        return splitPoint.getBestScore();
+    }
+
+    @Override
+    public int[] getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    @Override
+    public long getNodes() {
+        long nodes = 0L;
+        for (final SearchWorker worker : this.workers) {
+            nodes += worker.getNodes();
+        }
+        return nodes;
+    }
+
+    void shutdown() {
+        if (this.pool != null) {
+            this.pool.shutdownNow();
+        }
+    }
+
+    private SplitPoint searchRootMoves(final MoveList rootMoves,
+                                       final int depth) {
+        final SearchWorker worker = acquireWorker();
+        try {
+            worker.positionAt(ROOT_LINE);
+            //the root is never pruned or reduced, as in SearchWorker.searchRoot
+            return searchMoves(worker, ROOT_LINE, rootMoves, depth, -AlphaBetaSearch.INFINITY,
+                    AlphaBetaSearch.INFINITY, 0, false, false);
+        } finally {
+            releaseWorker(worker);
+        }
+    }
+
+    //the worker's board stands on line; mirrors SearchWorker.search, pruning and reductions included,
+    //down to MIN_SPLIT_DEPTH
+    private int search(final SearchWorker worker,
+                       final int[] line,
+                       final int depth,
+                       final int alpha,
+                       final int beta,
+                       final int ply) {
+        if (depth < MIN_SPLIT_DEPTH) {
+            return worker.search(depth, alpha, beta, ply);
+        }
+        if (worker.visitNode()) {
+            return 0;
+        }
+        worker.setPrincipalVariation(ply, ROOT_LINE);
+        final MutableBoard board = worker.getBoard();
+        if (board.isRepetition()) {
+            return AlphaBetaSearch.DRAW_SCORE;
+        }
+        final long zobristKey = board.getZobristKey();
+        int hashMove = MoveEncoding.NULL_MOVE;
+        final long entry = worker.probeTable();
+        if (entry != TranspositionTable.NOT_FOUND) {
+            hashMove = TranspositionTable.getMove(entry);
+            if (beta - alpha == 1) {
+                final int score = SearchWorker.tableCutoff(entry, depth, alpha, beta, ply);
+                if (score != AlphaBetaSearch.NO_SCORE) {
+                    return score;
+                }
+            }
+        }
+        final boolean isInCheck = board.isInCheck(board.getSideToMove());
+        final boolean canPrune = beta - alpha == 1 && !isInCheck;
+        final int staticEval = canPrune ? this.evaluator.evaluate(board.getBitBoard()) : 0;
+        if (canPrune) {
+            final int score = worker.pruneNode(depth, beta, ply, staticEval);
+            if (score != AlphaBetaSearch.NO_SCORE) {
+                return score;
+            }
+        }
+        final MoveList moves = worker.orderedMoves(ply, hashMove);
+        if (moves.isEmpty()) {
+            return isInCheck ? -AlphaBetaSearch.MATE_SCORE + ply : AlphaBetaSearch.DRAW_SCORE;
+        }
+        final SplitPoint splitPoint = searchMoves(worker, line, moves, depth, alpha, beta, ply, !isInCheck,
+                canPrune && worker.isFutile(depth, alpha, staticEval));
+        if (worker.isAborted()) {
+            return 0;
+        }
+        if (splitPoint.getBestScore() >= beta) {
+            worker.recordCutoff(moves, splitPoint.getBestIndex(), depth, ply);
+        }
+        worker.storeResult(zobristKey, splitPoint.getBestMove(), splitPoint.getBestScore(), alpha, beta, depth, ply);
+        worker.setPrincipalVariation(ply, splitPoint.getPrincipalVariation());
+        return splitPoint.getBestScore();
+    }
+
+    private SplitPoint searchMoves(final SearchWorker worker,
+                                   final int[] line,
+                                   final MoveList moves,
+                                   final int depth,
+                                   final int alpha,
+                                   final int beta,
+                                   final int ply,
+                                   final boolean canReduce,
+                                   final boolean isFutile) {
+        final SplitPoint parent = worker.getSplitPoint();
+        final SplitPoint splitPoint = new SplitPoint(parent, alpha, beta);
+        worker.setSplitPoint(splitPoint);
+        //the eldest brother first: its score is the window the younger ones are searched with
+        final int firstMove = moves.get(0);
+        worker.getBoard().makeMove(firstMove);
+        final int score = -search(worker, extend(line, firstMove), depth - 1, -beta, -alpha, ply + 1);
+        worker.getBoard().unmakeMove();
+        if (!worker.isAborted()) {
+            splitPoint.update(firstMove, 0, score, worker.getPrincipalVariation(ply + 1));
+            final List<SiblingTask> siblings = new ArrayList<>(moves.size() - 1);
+            for (int i = 1; i < moves.size(); i++) {
+                siblings.add(new SiblingTask(splitPoint, line, moves.get(i), i, depth, ply, canReduce, isFutile));
+            }
+            if (!splitPoint.isCancelled() && !siblings.isEmpty()) {
+                if (this.pool != null) {
+                    ForkJoinTask.invokeAll(siblings);
+                } else {
+                    for (final SiblingTask sibling : siblings) {
+                        sibling.invoke();
+                    }
+                }
+            }
+        }
+        worker.setSplitPoint(parent);
+        return splitPoint;
+    }
+
+    private SearchWorker acquireWorker() {
+        final SearchWorker idleWorker = this.idleWorkers.poll();
+        if (idleWorker != null) {
+            return idleWorker;
+        }
+        final SearchWorker worker = new SearchWorker(new MutableBoard(this.rootBoard), this.evaluator,
+                this.transpositionTable, this.control, this.options);
+        this.workers.add(worker);
+        return worker;
+    }
+
+    private void releaseWorker(final SearchWorker worker) {
+        this.idleWorkers.add(worker);
+    }
+
+    private static int[] extend(final int[] line,
+                                final int move) {
+        final int[] extendedLine = new int[line.length + 1];
+        System.arraycopy(line, 0, extendedLine, 0, line.length);
+        extendedLine[line.length] = move;
+        return extendedLine;
+    }
+
+    private final class SiblingTask
+            extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SplitPoint splitPoint;
+        private final int[] line;
+        private final int move;
+        private final int moveIndex;
+        private final int depth;
+        private final int ply;
+        //false at the root and when the split node is in check, where no move is reduced
+        private final boolean canReduce;
+        private final boolean isFutile;
+
+        private SiblingTask(final SplitPoint splitPoint,
+                            final int[] line,
+                            final int move,
+                            final int moveIndex,
+                            final int depth,
+                            final int ply,
+                            final boolean canReduce,
+                            final boolean isFutile) {
+            this.splitPoint = splitPoint;
+            this.line = line;
+            this.move = move;
+            this.moveIndex = moveIndex;
+            this.depth = depth;
+            this.ply = ply;
+            this.canReduce = canReduce;
+            this.isFutile = isFutile;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.splitPoint.isCancelled() || control.isStopped()) {
+                return;
+            }
+            final SearchWorker worker = acquireWorker();
+            try {
+                worker.setSplitPoint(this.splitPoint);
+                final int[] childLine = extend(this.line, this.move);
+                worker.positionAt(childLine);
+                final MutableBoard board = worker.getBoard();
+                final boolean isQuiet = this.canReduce && !MoveGenerator.isNoisyMove(this.move) &&
+                                        !board.isInCheck(board.getSideToMove());
+                if (this.isFutile && isQuiet) {
+                    return;
+                }
+                final int reduction = isQuiet ? worker.lateMoveReduction(this.depth, this.moveIndex + 1) : 0;
+                final int beta = this.splitPoint.getBeta();
+                int alpha = this.splitPoint.getAlpha();
+                int score = -search(worker, childLine, this.depth - 1 - reduction, -alpha - 1, -alpha, this.ply + 1);
+                if (!worker.isAborted() && reduction > 0 && score > alpha) {
+                    score = -search(worker, childLine, this.depth - 1, -alpha - 1, -alpha, this.ply + 1);
+                }
+                if (!worker.isAborted() && score > alpha && score < beta) {
+                    alpha = this.splitPoint.getAlpha();
+                    score = -search(worker, childLine, this.depth - 1, -beta, -alpha, this.ply + 1);
+                }
+                if (!worker.isAborted()) {
+                    this.splitPoint.update(this.move, this.moveIndex, score, worker.getPrincipalVariation(this.ply + 1));
+                }
+            } finally {
+                worker.setSplitPoint(null);
+                releaseWorker(worker);
+            }
+        }
+
+    }
+
+}
@@ -12,6 +12,7 @@ import javax.swing.JTable;
 import javax.swing.table.DefaultTableModel;
 
 import chess.engine.board.Board;
+import chess.engine.board.GameStatus;
 import chess.engine.board.Move;
 import chess.gui.Table.MoveLog;
 
@@ -66,7 +67,8 @@ class GameHistoryPanel extends JPanel {
     }
 
     private static String calculateCheckAndCheckMateHash(final Board board) {
-        if(board.currentPlayer().isInCheckMate()) {
+        final GameStatus gameStatus = board.getGameStatus();
+        if(gameStatus.isCheckMate()) {
         	Table.win();
             return "#";
         } else if(board.currentPlayer().isInCheck()) {
@@ -21,11 +21,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import javax.imageio.ImageIO;
 import javax.swing.BorderFactory;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JColorChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -40,6 +44,7 @@ import javax.swing.WindowConstants;
 
 import com.google.common.collect.Lists;
 
+import chess.engine.Alliance;
 import chess.engine.board.Board;
 import chess.engine.board.BoardUtils;
 import chess.engine.board.Move;
@@ -47,6 +52,10 @@ import chess.engine.board.Move.MoveFactory;
 import chess.engine.board.MoveTransition;
 import chess.engine.pieces.Piece;
 import chess.engine.player.Player;
+import chess.engine.player.ai.AlphaBetaSearch;
+import chess.engine.player.ai.SearchLimits;
+import chess.engine.player.ai.SearchResult;
+import chess.engine.player.ai.StopSignal;
 
 public final class Table {
 
@@ -65,7 +74,16 @@ public final class Table {
     private Color darkTileColor = Color.decode("#5F656C");
 	private final Lobby lobby;
 	private final ChessTimer chessTimer;
-
+    private PlayerType whitePlayerType;
+    private PlayerType blackPlayerType;
+    private final AlphaBetaSearch computerStrategy;
+    private final ExecutorService computerExecutor;
+    private Future<?> computerTask;
+    private StopSignal computerStop;
+    //bumped whenever a running search is abandoned, so whatever it still posts back is ignored
+    private int computerSearchId;
+
+    private static final String TITLE = "chess";
     private static final Dimension OUTER_FRAME_DIMENSION = new Dimension(600, 550);
     private static final Dimension BOARD_PANEL_DIMENSION = new Dimension(400, 350);
     private static final Dimension TILE_PANEL_DIMENSION = new Dimension(10, 10);
@@ -73,7 +91,7 @@ public final class Table {
     private static final Table INSTANCE = new Table();
 
     private Table() {
-        Table.gameFrame = new JFrame("chess");
+        Table.gameFrame = new JFrame(TITLE);
         final JMenuBar tableMenuBar = new JMenuBar();
         populateMenuBar(tableMenuBar);
         Table.gameFrame.setJMenuBar(tableMenuBar);
@@ -88,6 +106,19 @@ public final class Table {
         this.lobby = new Lobby();
         this.chessTimer = new ChessTimer();
         this.moveLog = new MoveLog();
+        this.whitePlayerType = PlayerType.HUMAN;
+        this.blackPlayerType = PlayerType.HUMAN;
+        //one engine for the whole game so its transposition table carries over between moves
+        //each search gets its limits from the clock when it starts
+        this.computerStrategy = new AlphaBetaSearch(new SearchLimits.Builder().build());
+        this.computerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "computer-player");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.computerTask = null;
+        this.computerStop = null;
+        this.computerSearchId = 0;
         Table.gameFrame.add(this.takenPiecesPanel, BorderLayout.WEST);
         Table.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
         Table.gameFrame.add(this.gameHistoryPanel, BorderLayout.EAST);
@@ -138,9 +169,12 @@ public final class Table {
     }
 
     public static void win() {
-    	if(chessBoard.currentPlayer().isInCheckMate() && chessBoard.currentPlayer().getAlliance().toString().equals("White")) {
+    	if(!chessBoard.getGameStatus().isCheckMate()) {
+    		return;
+    	}
+    	if(chessBoard.currentPlayer().getAlliance().isWhite()) {
         JOptionPane.showMessageDialog(gameFrame, "Black Win!");
-	    }else if(chessBoard.currentPlayer().isInCheckMate() && chessBoard.currentPlayer().getAlliance().toString().equals("Black")) {
+	    }else if(chessBoard.currentPlayer().getAlliance().isBlack()) {
 	    	JOptionPane.showMessageDialog(gameFrame, "White Win!");
 	    }
     }
@@ -192,6 +226,22 @@ public final class Table {
             }
         });
         optionsMenu.add(undoMoveMenuItem);
+
+        final JCheckBoxMenuItem computerWhiteMenuItem = new JCheckBoxMenuItem("Computer Plays White");
+        computerWhiteMenuItem.addActionListener(e -> {
+            whitePlayerType = computerWhiteMenuItem.isSelected() ? PlayerType.COMPUTER : PlayerType.HUMAN;
+            cancelComputerMove();
+            makeComputerMove();
+        });
+        optionsMenu.add(computerWhiteMenuItem);
+
+        final JCheckBoxMenuItem computerBlackMenuItem = new JCheckBoxMenuItem("Computer Plays Black");
+        computerBlackMenuItem.addActionListener(e -> {
+            blackPlayerType = computerBlackMenuItem.isSelected() ? PlayerType.COMPUTER : PlayerType.HUMAN;
+            cancelComputerMove();
+            makeComputerMove();
+        });
+        optionsMenu.add(computerBlackMenuItem);
         
         final JMenuItem exitMenuItem = new JMenuItem("Exit");
         exitMenuItem.addActionListener(e -> {
@@ -277,6 +327,9 @@ public final class Table {
             	ChessTimer.flip();
             }
             boardPanel.drawBoard(chessBoard);
+            //the search starts over once the flipped board has painted
+            cancelComputerMove();
+            SwingUtilities.invokeLater(this::makeComputerMove);
         });
 
         preferencesMenu.add(flipBoardMenuItem);
@@ -295,12 +348,113 @@ public final class Table {
     }
 
     private static String playerInfo(final Player player) {
-        return ("Player is: " +player.getAlliance() + "\nlegal moves (" +player.getLegalMoves().size()+ ") = " +player.getLegalMoves() + "\ninCheck = " +
+        return ("Player is: " +player.getAlliance() + "\nlegal moves (" +player.countLegalMoves()+ ") = " +player.getLegalMoves() + "\ninCheck = " +
                 player.isInCheck() + "\nisInCheckMate = " +player.isInCheckMate() +
                 "\nisCastled = " +player.isCastled())+ "\n";
     }
 
+    private boolean isComputerPlayer(final Player player) {
+        return (player.getAlliance().isWhite() ? this.whitePlayerType : this.blackPlayerType) == PlayerType.COMPUTER;
+    }
+
+    private boolean isComputerThinking() {
+        return this.computerTask != null;
+    }
+
+    //searches on the computer player's thread so the event thread keeps painting and handling the menus
+    private void makeComputerMove() {
+        if (isComputerThinking() || !isComputerPlayer(chessBoard.currentPlayer()) ||
+            chessBoard.getGameStatus().isGameOver()) {
+            return;
+        }
+        final Board searchBoard = chessBoard;
+        final int searchId = this.computerSearchId;
+        final SearchLimits clockLimits = new SearchLimits.Builder()
+                .setClock(ChessTimer.getRemainingMillis(searchBoard.currentPlayer().getAlliance()),
+                        ChessTimer.getIncrementMillis())
+                .build();
+        //made before the task is queued, so a cancel can reach a search that has not started yet
+        final StopSignal stopSignal = new StopSignal();
+        this.computerStop = stopSignal;
+        this.computerTask = this.computerExecutor.submit(() -> {
+            try {
+                final SearchResult result = this.computerStrategy.search(searchBoard, clockLimits,
+                        progress -> SwingUtilities.invokeLater(() -> showComputerProgress(searchId, progress)),
+                        stopSignal);
+                SwingUtilities.invokeLater(() -> playComputerMove(searchId, result.getBestMove()));
+            } catch (final RuntimeException | Error e) {
+                //otherwise the table would wait for this move forever
+                SwingUtilities.invokeLater(() -> failComputerMove(searchId, e));
+            }
+        });
+    }
+
+    private void showComputerProgress(final int searchId,
+                                      final SearchResult progress) {
+        if (searchId != this.computerSearchId) {
+            return;
+        }
+        final String score = progress.isMateScore() ? "mate" : String.format("%+.2f", progress.getScore() / 100.0);
+        Table.gameFrame.setTitle(String.format("%s - thinking: depth %d, score %s, %,d nodes/s", TITLE,
+                progress.getDepth(), score, progress.getNodesPerSecond()));
+    }
+
+    private void playComputerMove(final int searchId,
+                                  final Move bestMove) {
+        if (searchId != this.computerSearchId) {
+            return;
+        }
+        this.computerTask = null;
+        this.computerStop = null;
+        Table.gameFrame.setTitle(TITLE);
+        final MoveTransition transition = chessBoard.currentPlayer().makeMove(bestMove);
+        if (transition.getMoveStatus().isDone()) {
+            updateGameBoard(bestMove, transition.getToBoard());
+        }
+        this.gameHistoryPanel.redo(chessBoard, this.moveLog);
+        this.takenPiecesPanel.redo(this.moveLog);
+        this.boardPanel.drawBoard(chessBoard);
+        SwingUtilities.invokeLater(this::makeComputerMove);
+    }
+
+    private void failComputerMove(final int searchId,
+                                  final Throwable error) {
+        if (searchId != this.computerSearchId) {
+            return;
+        }
+        this.computerTask = null;
+        this.computerStop = null;
+        Table.gameFrame.setTitle(TITLE);
+        error.printStackTrace();
+        JOptionPane.showMessageDialog(gameFrame, "The computer could not find a move: " + error);
+    }
+
+    //new game, undo and flip abandon the search; a search that has not started yet never runs
+    private void cancelComputerMove() {
+        this.computerSearchId++;
+        if (this.computerTask != null) {
+            this.computerTask.cancel(false);
+            this.computerStop.stop();
+            this.computerTask = null;
+            this.computerStop = null;
+        }
+        Table.gameFrame.setTitle(TITLE);
+    }
+
+    private void updateGameBoard(final Move move,
+                                 final Board toBoard) {
+        ChessTimer.addIncrement(chessBoard.currentPlayer().getAlliance());
+        chessBoard = toBoard;
+        this.moveLog.addMove(move);
+        if(chessBoard.currentPlayer().getAlliance().isWhite()) {
+            ChessTimer.startWhiteTimer();
+        } else {
+            ChessTimer.startBlackTimer();
+        }
+    }
+
     private void undoAllMoves() {
+        cancelComputerMove();
         for(int i = Table.get().getMoveLog().size() - 1; i >= 0; i--) {
             final Move lastMove = Table.get().getMoveLog().removeMove(Table.get().getMoveLog().size() - 1);
             Table.chessBoard = Table.chessBoard.currentPlayer().unMakeMove(lastMove).getToBoard();
@@ -310,15 +464,27 @@ public final class Table {
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
         Table.get().getBoardPanel().drawBoard(chessBoard);
+        SwingUtilities.invokeLater(this::makeComputerMove);
     }
 
     private void undoLastMove() {
-        final Move lastMove = Table.get().getMoveLog().removeMove(Table.get().getMoveLog().size() - 1);
-        Table.chessBoard = Table.chessBoard.currentPlayer().unMakeMove(lastMove).getToBoard();
-        Table.get().getMoveLog().removeMove(lastMove);
+        cancelComputerMove();
+        takeBackLastMove();
+        //taking back only the computer's reply would have it play the same move straight back,
+        //so the human's own move goes too
+        if (isComputerPlayer(chessBoard.currentPlayer()) && Table.get().getMoveLog().size() > 0) {
+            takeBackLastMove();
+        }
         Table.get().getGameHistoryPanel().redo(chessBoard, Table.get().getMoveLog());
         Table.get().getTakenPiecesPanel().redo(Table.get().getMoveLog());
         Table.get().getBoardPanel().drawBoard(chessBoard);
+        //the computer moves again if it still has the move, as when it plays both sides
+        SwingUtilities.invokeLater(this::makeComputerMove);
+    }
+
+    private void takeBackLastMove() {
+        final Move lastMove = Table.get().getMoveLog().removeMove(Table.get().getMoveLog().size() - 1);
+        Table.chessBoard = Table.chessBoard.currentPlayer().unMakeMove(lastMove).getToBoard();
     }
 
     enum PlayerType {
@@ -360,6 +526,8 @@ public final class Table {
     	
     	private static final int TIMER_DURATION = 10 * 60;
     	private static final String DEFAULT_TIMER_TEXT = "10:00";
+    	//seconds added to the mover's clock after every move
+    	private static final int TIMER_INCREMENT = 0;
     	private static int whiteTime = TIMER_DURATION;
     	private static int blackTime = TIMER_DURATION;
     	private static Timer whiteTimer;
@@ -446,6 +614,24 @@ public final class Table {
     		timeGoing = 1;
     	}
     	
+    	public static void addIncrement(final Alliance alliance) {
+    		if (alliance.isWhite()) {
+    			whiteTime += TIMER_INCREMENT;
+    		} else {
+    			blackTime += TIMER_INCREMENT;
+    		}
+    	}
+
+    	//the clock only counts whole seconds and may be up to one second into the current one,
+    	//so that second is treated as already gone
+    	public static long getRemainingMillis(final Alliance alliance) {
+    		return Math.max(0, (alliance.isWhite() ? whiteTime : blackTime) - 1) * 1000L;
+    	}
+
+    	public static long getIncrementMillis() {
+    		return TIMER_INCREMENT * 1000L;
+    	}
+
     	public static void startWhiteTimer() {
     		timeGoing = 1;
     	}
@@ -583,6 +769,10 @@ public final class Table {
             addMouseListener(new MouseListener() {
                 @Override
                 public void mouseClicked(final MouseEvent event) {
+                    //the board belongs to the computer while it is thinking or on the move
+                    if (isComputerThinking() || isComputerPlayer(chessBoard.currentPlayer())) {
+                        return;
+                    }
                     if (isRightMouseButton(event)) {
                         sourceTile = null;
                         humanMovedPiece = null;
@@ -598,15 +788,7 @@ public final class Table {
                                     tileId);
                             final MoveTransition transition = chessBoard.currentPlayer().makeMove(move);
                             if (transition.getMoveStatus().isDone()) {
-                                chessBoard = transition.getToBoard();
-                                moveLog.addMove(move);
-                                if(chessBoard.currentPlayer().getAlliance().toString().equals("White")) {
-                                	ChessTimer.startWhiteTimer();
-                                } else if(chessBoard.currentPlayer().getAlliance().toString().equals("Black")) {
-                                	ChessTimer.startBlackTimer();
-                                }else {
-                                	System.out.println(chessBoard.currentPlayer().getAlliance());
-                                }
+                                updateGameBoard(move, transition.getToBoard());
                             }
                             sourceTile = null;
                             humanMovedPiece = null;
@@ -616,6 +798,8 @@ public final class Table {
                         gameHistoryPanel.redo(chessBoard, moveLog);
                         takenPiecesPanel.redo(moveLog);
                         boardPanel.drawBoard(chessBoard);
+                        //let the human move paint before the computer starts thinking
+                        SwingUtilities.invokeLater(Table.this::makeComputerMove);
                     });
                 }
 